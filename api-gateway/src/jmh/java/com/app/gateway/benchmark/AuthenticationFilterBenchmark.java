@@ -0,0 +1,202 @@
+package com.app.gateway.benchmark;
+
+import com.app.gateway.filter.AuthenticationFilter;
+import com.app.gateway.metrics.GatewayPhaseMetrics;
+import com.app.gateway.security.GatewayJwtProperties;
+import com.app.gateway.security.GatewayKeyRegistry;
+import com.app.gateway.security.GatewayTokenValidator;
+import com.app.gateway.security.IdentityAssertionSigner;
+import com.app.gateway.security.RouteSecurityProperties;
+import com.app.gateway.security.RouteSecurityTable;
+import com.app.gateway.service.GatewayTokenBlacklist;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link AuthenticationFilter} for the request shapes the gateway sees, with
+ * the real validator, revocation epochs and route table behind it and a no-op downstream chain.
+ * <p>
+ * {@code baseline} only builds the mock exchange and calls the chain; subtract it to get the
+ * filter's own cost. {@code validTokenColdCache} runs with the verified-token cache disabled,
+ * i.e. the full RSA verification on every request. Logging is switched off so rejected
+ * tokens measure the filter, not the console appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private InMemoryReactiveRedisTemplate redis;
+    private GatewayKeyRegistry keyRegistry;
+    private GatewayTokenBlacklist blacklist;
+    private AuthenticationFilter filter;
+    private AuthenticationFilter coldCacheFilter;
+
+    private String validToken;
+    private String expiredToken;
+    private String blacklistedToken;
+    private String malformedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.OFF);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        GatewayJwtProperties jwtProperties = new GatewayJwtProperties();
+        jwtProperties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        jwtProperties.setIdentityAssertionSecret(UUID.randomUUID().toString() + UUID.randomUUID());
+        keyRegistry = new GatewayKeyRegistry(jwtProperties);
+        keyRegistry.init();
+
+        redis = new InMemoryReactiveRedisTemplate();
+        blacklist = new GatewayTokenBlacklist(redis, jwtProperties);
+
+        Instant now = Instant.now();
+        validToken = token(keyPair, "42", now.plus(Duration.ofHours(1)));
+        expiredToken = token(keyPair, "42", now.minus(Duration.ofMinutes(1)));
+        blacklistedToken = token(keyPair, "43", now.plus(Duration.ofHours(1)));
+        malformedToken = "eyJhbGciOiJSUzI1NiJ9.not-a-payload.not-a-signature";
+
+        // Epoch an hour ahead: revokes account 43's token and stays in the local map for the whole run
+        redis.put("revoke:epoch:43", String.valueOf(now.plus(Duration.ofHours(1)).getEpochSecond()));
+        blacklist.start();
+        // Let the initial seed from the in-memory store complete, lookups then stay local
+        Thread.sleep(500);
+
+        RouteSecurityTable routeSecurityTable = routeSecurityTable();
+        GatewayPhaseMetrics phaseMetrics = new GatewayPhaseMetrics(new SimpleMeterRegistry());
+        IdentityAssertionSigner signer = new IdentityAssertionSigner(jwtProperties);
+        filter = new AuthenticationFilter(
+                new GatewayTokenValidator(jwtProperties, keyRegistry), blacklist, routeSecurityTable, phaseMetrics, signer);
+
+        GatewayJwtProperties uncached = new GatewayJwtProperties();
+        uncached.setPublicKey(jwtProperties.getPublicKey());
+        uncached.setVerifiedTokenCacheSize(0L);
+        coldCacheFilter = new AuthenticationFilter(
+                new GatewayTokenValidator(uncached, keyRegistry), blacklist, routeSecurityTable, phaseMetrics, signer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        blacklist.stop();
+        keyRegistry.shutdown();
+    }
+
+    @Benchmark
+    public HttpStatusCode baseline() {
+        MockServerWebExchange exchange = exchange("/api/users/me", validToken);
+        CHAIN.filter(exchange).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    @Benchmark
+    public HttpStatusCode publicPath() {
+        return run(filter, exchange("/api/courses", null));
+    }
+
+    @Benchmark
+    public HttpStatusCode validToken() {
+        return run(filter, exchange("/api/users/me", validToken));
+    }
+
+    @Benchmark
+    public HttpStatusCode validTokenColdCache() {
+        return run(coldCacheFilter, exchange("/api/users/me", validToken));
+    }
+
+    @Benchmark
+    public HttpStatusCode expiredToken() {
+        return run(filter, exchange("/api/users/me", expiredToken));
+    }
+
+    @Benchmark
+    public HttpStatusCode malformedToken() {
+        return run(filter, exchange("/api/users/me", malformedToken));
+    }
+
+    @Benchmark
+    public HttpStatusCode blacklistedToken() {
+        return run(filter, exchange("/api/users/me", blacklistedToken));
+    }
+
+    private static HttpStatusCode run(AuthenticationFilter filter, MockServerWebExchange exchange) {
+        filter.filter(exchange, CHAIN).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static MockServerWebExchange exchange(String path, String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String token(KeyPair keyPair, String subject, Instant expiresAt) {
+        return Jwts.builder()
+                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .claim("roles", "ROLE_USER")
+                .claim("email", "bench@example.com")
+                .claim("token_type", "access")
+                .issuedAt(Date.from(expiresAt.minus(Duration.ofHours(2))))
+                .expiration(Date.from(expiresAt))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    /**
+     * The route rules as configured in application.yml.
+     */
+    private static RouteSecurityTable routeSecurityTable() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        RouteSecurityProperties properties = Binder.get(environment)
+                .bind(RouteSecurityProperties.PREFIX, RouteSecurityProperties.class)
+                .orElseGet(RouteSecurityProperties::new);
+        return new RouteSecurityTable(properties, environment);
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.gateway.benchmark;
+
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Key/value store standing in for Redis in benchmarks. Covers the operations the gateway's
+ * revocation epochs use (scan and get); the pub/sub channel never delivers anything. The
+ * connection factory is never started, so nothing here touches the network.
+ */
+class InMemoryReactiveRedisTemplate extends ReactiveRedisTemplate<String, String> {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final ReactiveValueOperations<String, String> valueOperations;
+
+    @SuppressWarnings("unchecked")
+    InMemoryReactiveRedisTemplate() {
+        super(new LettuceConnectionFactory(), RedisSerializationContext.string());
+        this.valueOperations = (ReactiveValueOperations<String, String>) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{ReactiveValueOperations.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("get") && args != null && args.length == 1) {
+                        return Mono.justOrEmpty(values.get((String) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public ReactiveValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public Flux<String> scan(ScanOptions options) {
+        String prefix = options.getPattern() != null ? options.getPattern().replace("*", "") : "";
+        return Flux.fromIterable(values.keySet()).filter(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public Mono<Flux<? extends ReactiveSubscription.Message<String, String>>> listenToChannelLater(String... channels) {
+        return Mono.just(Flux.never());
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+/**
+ * An upstream 200 response kept by {@link ResponseCache}. Only representation headers are
+ * stored; per-request headers (CORS, rate limit, cookies) are never replayed.
+ */
+public record CachedResponse(
+        HttpHeaders headers,
+        byte[] body,
+        String etag,
+        Instant storedAt,
+        Instant freshUntil,
+        Instant staleUntil
+) {
+
+    public boolean isFresh(Instant now) {
+        return now.isBefore(freshUntil);
+    }
+
+    public boolean isUsable(Instant now) {
+        return now.isBefore(staleUntil);
+    }
+
+    public long ageSeconds(Instant now) {
+        return Math.max(0, now.getEpochSecond() - storedAt.getEpochSecond());
+    }
+}
@@ -0,0 +1,248 @@
+package com.app.gateway.cache;
+
+import com.app.gateway.config.ResponseCacheProperties;
+import com.app.gateway.util.PathPatternTrie;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store behind {@link com.app.gateway.filter.ResponseCacheFilter}.
+ * <p>
+ * Routes and their TTLs come from {@code gateway.cache.routes}, matched with the same
+ * pattern rules as the route security table. Entries are bounded by total body size and
+ * evicted once they are past their stale-while-revalidate window. Concurrent misses on
+ * the same key share a single upstream fetch ({@link #begin(String)}).
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    private static final String PROPERTIES_PREFIX = "gateway.cache";
+
+    // Headers describing the representation itself; everything else is per-request
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.LAST_MODIFIED);
+
+    private final Environment environment;
+    private final Cache<String, CachedResponse> entries;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile ResponseCacheProperties properties;
+    private volatile PathPatternTrie<ResponseCacheProperties.Route> routes;
+
+    public ResponseCache(ResponseCacheProperties properties, Environment environment) {
+        this.environment = environment;
+        this.properties = properties;
+        this.routes = compile(properties);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSizeBytes())
+                .weigher((String key, CachedResponse entry) -> key.length() + entry.body().length)
+                .expireAfter(new StaleExpiry())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Duration getLockTimeout() {
+        return properties.getLockTimeout();
+    }
+
+    /**
+     * @return the cache settings for the path, or {@code null} if responses for it are never cached
+     */
+    public ResponseCacheProperties.Route resolve(String path) {
+        return routes.match(path);
+    }
+
+    /**
+     * Cache key: the path plus the raw query parameters in sorted order, so the same query
+     * written with a different parameter order shares an entry.
+     */
+    public static String keyFor(String path, String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return path;
+        }
+
+        String[] parameters = rawQuery.split("&");
+        Arrays.sort(parameters);
+        StringBuilder key = new StringBuilder(path).append('?');
+        for (String parameter : parameters) {
+            if (!parameter.isEmpty()) {
+                key.append(parameter).append('&');
+            }
+        }
+        key.setLength(key.length() - 1);
+        return key.toString();
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Stores a 200 response. An upstream {@code ETag} is kept, otherwise one is derived from the body.
+     *
+     * @return the stored entry, or {@code null} if the body is too large to be cached
+     */
+    public CachedResponse store(String key, ResponseCacheProperties.Route route, HttpHeaders headers, byte[] body) {
+        if (body.length > properties.getMaxBodyBytes()) {
+            log.debug("Response for {} not cached, {} bytes exceeds the limit", key, body.length);
+            return null;
+        }
+
+        HttpHeaders stored = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                stored.put(name, List.copyOf(values));
+            }
+        }
+
+        String etag = headers.getETag() != null ? headers.getETag() : computeEtag(body);
+        Instant now = Instant.now();
+        Instant freshUntil = now.plus(route.getTtl());
+        CachedResponse entry = new CachedResponse(
+                HttpHeaders.readOnlyHttpHeaders(stored), body, etag,
+                now, freshUntil, freshUntil.plus(route.getStaleWhileRevalidate()));
+
+        entries.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Joins the upstream fetch for {@code key}. The first caller becomes the leader and must
+     * eventually call {@link #complete(Flight, CachedResponse)}; later callers wait on its result.
+     */
+    public Flight begin(String key) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> existing = inFlight.putIfAbsent(key, sink);
+        return existing == null
+                ? new Flight(key, sink, true)
+                : new Flight(key, existing, false);
+    }
+
+    /**
+     * Publishes the leader's result to the waiting requests. {@code null} (not cacheable,
+     * upstream error) sends them upstream on their own.
+     */
+    public void complete(Flight flight, CachedResponse entry) {
+        inFlight.remove(flight.key(), flight.sink());
+        if (entry != null) {
+            flight.sink().tryEmitValue(entry);
+        } else {
+            flight.sink().tryEmitEmpty();
+        }
+    }
+
+    public record Flight(String key, Sinks.One<CachedResponse> sink, boolean leader) {
+
+        public Mono<CachedResponse> result() {
+            return sink.asMono();
+        }
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean affected = event.getKeys().stream().anyMatch(key -> key.startsWith(PROPERTIES_PREFIX));
+        if (!affected) {
+            return;
+        }
+
+        try {
+            ResponseCacheProperties rebound = Binder.get(environment)
+                    .bind(PROPERTIES_PREFIX, ResponseCacheProperties.class)
+                    .orElseGet(ResponseCacheProperties::new);
+            routes = compile(rebound);
+            properties = rebound;
+            entries.invalidateAll();
+        } catch (Exception e) {
+            log.error("Invalid response cache configuration, keeping the previous routes: {}", e.getMessage());
+        }
+    }
+
+    private PathPatternTrie<ResponseCacheProperties.Route> compile(ResponseCacheProperties properties) {
+        PathPatternTrie.Builder<ResponseCacheProperties.Route> builder = PathPatternTrie.builder();
+        for (ResponseCacheProperties.Route route : properties.getRoutes()) {
+            if (route.getPattern() == null || route.getPattern().isBlank()) {
+                throw new IllegalArgumentException("Response cache route without a pattern");
+            }
+            builder.add(route.getPattern(), route);
+        }
+        log.info("Response cache enabled for {} route pattern(s)", properties.getRoutes().size());
+        return builder.build();
+    }
+
+    private static String computeEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value matches the entry's ETag (weak comparison).
+     */
+    public static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String target = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static class StaleExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse entry, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), entry.staleUntil());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
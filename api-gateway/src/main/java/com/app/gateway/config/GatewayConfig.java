@@ -1,5 +1,6 @@
 package com.app.gateway.config;
 
+import com.app.gateway.filter.BudgetedRetryGatewayFilterFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
@@ -11,20 +12,17 @@ import org.springframework.context.annotation.Configuration;
 public class GatewayConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, BudgetedRetryGatewayFilterFactory retry) {
         log.info("Configuring Gateway routes");
 
         return builder.routes()
                 // Auth Service - No prefix stripping
+                // POSTs (login, register, OTP) are only retried when the client sends an Idempotency-Key
                 .route("auth-service", r -> r
                         .path("/auth/**")
                         .filters(f -> f
                                 .stripPrefix(0)
-                                .retry(config -> config
-                                        .setRetries(3)
-                                        .setMethods(org.springframework.http.HttpMethod.GET,
-                                                org.springframework.http.HttpMethod.POST)
-                                )
+                                .filter(retry.apply("auth-service", config -> config.setRetries(2)))
                         )
                         .uri("lb://auth-service")
                 )
@@ -34,7 +32,7 @@ public class GatewayConfig {
                         .path("/api/users/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .retry(config -> config.setRetries(2))
+                                .filter(retry.apply("user-service", config -> config.setRetries(2)))
                         )
                         .uri("lb://user-service")
                 )
@@ -44,7 +42,7 @@ public class GatewayConfig {
                         .path("/api/blogs/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .retry(config -> config.setRetries(2))
+                                .filter(retry.apply("blog-service", config -> config.setRetries(2)))
                         )
                         .uri("lb://blog-service")
                 )
@@ -54,7 +52,7 @@ public class GatewayConfig {
                         .path("/api/courses/**", "/api/enrollments/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .retry(config -> config.setRetries(2))
+                                .filter(retry.apply("course-service", config -> config.setRetries(2)))
                         )
                         .uri("lb://course-service")
                 )
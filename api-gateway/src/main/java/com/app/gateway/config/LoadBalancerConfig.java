@@ -0,0 +1,14 @@
+package com.app.gateway.config;
+
+import com.app.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Load balancing for the {@code lb://} routes in {@link GatewayConfig}; the strategy is
+ * chosen with {@code gateway.load-balancer.strategy}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
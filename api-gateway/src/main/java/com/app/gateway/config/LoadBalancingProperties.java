@@ -0,0 +1,38 @@
+package com.app.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LoadBalancingProperties {
+
+    public enum Strategy {
+        LATENCY_AWARE,
+        ROUND_ROBIN
+    }
+
+    private Strategy strategy = Strategy.LATENCY_AWARE;
+
+    // Time for an old latency sample to lose ~63% of its weight in the moving average
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    // Latency assumed for an instance that has not answered yet
+    private Duration initialLatency = Duration.ofMillis(50);
+
+    // Consecutive 5xx responses or connection failures/timeouts before an instance is ejected
+    private Integer consecutiveFailures = 5;
+
+    // First ejection lasts this long, each further ejection of the same instance one more period
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    // Never eject more than this share of a service's instances
+    private Integer maxEjectionPercent = 50;
+}
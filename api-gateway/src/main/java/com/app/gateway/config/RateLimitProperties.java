@@ -10,6 +10,8 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "rate-limit")
 public class RateLimitProperties {
 
+    private boolean enabled = true;
+
     private Integer defaultLimit = 100;
 
     private Integer defaultDuration = 60;
@@ -17,4 +19,11 @@ public class RateLimitProperties {
     private Integer authLoginLimit = 5;
 
     private Integer authLoginDuration = 900;
+
+    private Integer authRegisterLimit = 10;
+
+    private Integer authRegisterDuration = 3600;
+
+    // Number of proxies in front of the gateway whose X-Forwarded-For entries are trusted (0 = use the socket address)
+    private Integer trustedProxies = 0;
 }
\ No newline at end of file
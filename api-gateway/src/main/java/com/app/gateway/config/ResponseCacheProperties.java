@@ -0,0 +1,41 @@
+package com.app.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound for all cached bodies together
+    private Long maxSizeBytes = 64L * 1024 * 1024;
+
+    // Larger responses are passed through without being stored
+    private Integer maxBodyBytes = 1024 * 1024;
+
+    // How long a request waits on an in-flight upstream fetch for the same key before going upstream itself
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        // Same syntax as gateway.security.rules patterns
+        private String pattern;
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        // Extra time an expired entry may still be served while it is refreshed in the background
+        private Duration staleWhileRevalidate = Duration.ZERO;
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.gateway.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Error bodies written directly by gateway filters, in the same shape as {@link GatewayExceptionHandler}.
+ */
+public final class GatewayErrorResponses {
+
+    private GatewayErrorResponses() {
+    }
+
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        String errorResponse = String.format(
+                "{\"success\":false,\"error\":{\"code\":\"%s\",\"message\":\"%s\"},\"timestamp\":\"%s\"}",
+                status.name(),
+                message,
+                Instant.now()
+        );
+
+        return response.writeWith(
+                Mono.just(response.bufferFactory().wrap(errorResponse.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+}
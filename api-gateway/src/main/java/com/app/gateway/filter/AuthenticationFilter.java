@@ -1,13 +1,21 @@
 package com.app.gateway.filter;
 
+import com.app.gateway.exception.GatewayErrorResponses;
+import com.app.gateway.metrics.GatewayPhaseMetrics;
 import com.app.gateway.security.GatewayTokenValidator;
 import com.app.gateway.security.GatewayConstants;
+import com.app.gateway.security.GatewayVerifiedToken;
+import com.app.gateway.security.IdentityAssertionSigner;
+import com.app.gateway.security.RouteSecurityRule;
+import com.app.gateway.security.RouteSecurityTable;
 import com.app.gateway.service.GatewayTokenBlacklist;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -15,8 +23,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -24,51 +30,27 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     private final GatewayTokenValidator jwtTokenValidator;
     private final GatewayTokenBlacklist tokenBlacklistService;
-
-    private static final List<String> PUBLIC_PATHS = List.of(
-            "/auth/login",
-            "/auth/register",
-            "/auth/verify-otp",
-            "/auth/resend-otp",
-            "/auth/refresh",
-            "/auth/google/callback"
-    );
-
-    // Paths that are public for GET requests only
-    private static final List<String> PUBLIC_READ_PATHS = List.of(
-            "/api/blogs/series",
-            "/api/blogs/posts",
-            "/api/blogs/posts/slug",
-            "/api/blogs/ebooks",
-            "/api/courses"
-    );
+    private final RouteSecurityTable routeSecurityTable;
+    private final GatewayPhaseMetrics phaseMetrics;
+    private final IdentityAssertionSigner identityAssertionSigner;
 
     @Override
-    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    public Mono<Void> filter(ServerWebExchange originalExchange, GatewayFilterChain chain) {
+        ServerWebExchange exchange = stripIdentityHeaders(originalExchange);
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getPath().value();
-        String method = request.getMethod().name();
-
-        if (method.equalsIgnoreCase("OPTIONS")) {
-            return chain.filter(exchange);
-        }
-
-        log.debug("Processing request: {} {}", method, path);
+        HttpMethod method = request.getMethod();
 
-        // Check if path is always public (any method)
-        if (isPublicPath(path)) {
-            log.debug("Public path accessed, skipping authentication: {}", path);
+        if (method == HttpMethod.OPTIONS) {
             return chain.filter(exchange);
         }
 
-        // Check if path is public for GET requests only
-        if (isPublicReadPath(path) && method.equalsIgnoreCase("GET")) {
-            log.debug("Public read path accessed with GET, skipping authentication: {}", path);
+        RouteSecurityRule rule = routeSecurityTable.resolve(method, path);
+        if (rule.publicAccess()) {
+            log.debug("Public path accessed, skipping authentication: {} {}", method, path);
             return chain.filter(exchange);
         }
 
-        log.debug("Protected path, authentication required: {} {}", method, path);
-
         String token = extractToken(request);
 
         if (!StringUtils.hasText(token)) {
@@ -76,32 +58,44 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             return onError(exchange, "Missing authentication token", HttpStatus.UNAUTHORIZED);
         }
 
+        long verifyStart = System.nanoTime();
         try {
-            jwtTokenValidator.validateToken(token);
+            GatewayVerifiedToken verifiedToken = jwtTokenValidator.verify(token);
+            phaseMetrics.record(GatewayPhaseMetrics.PHASE_AUTH, exchange,
+                    GatewayPhaseMetrics.OUTCOME_SUCCESS, System.nanoTime() - verifyStart);
             log.debug("Token validated successfully");
 
-            return tokenBlacklistService.isBlacklisted(token)
+            return phaseMetrics.time(GatewayPhaseMetrics.PHASE_BLACKLIST, exchange,
+                            tokenBlacklistService.isBlacklisted(verifiedToken))
                     .flatMap(isBlacklisted -> {
                         if (isBlacklisted) {
                             log.warn("Blacklisted token detected for path: {}", path);
                             return onError(exchange, "Token has been revoked", HttpStatus.UNAUTHORIZED);
                         }
 
-                        String userId = jwtTokenValidator.getUserId(token);
-                        String roles = jwtTokenValidator.getRole(token);
-                        String email = jwtTokenValidator.getEmail(token);
+                        if (!rule.isGranted(verifiedToken.roles())) {
+                            log.warn("Access denied for user {} on {} {}", verifiedToken.userId(), method, path);
+                            return onError(exchange, "Insufficient permissions", HttpStatus.FORBIDDEN);
+                        }
 
-                        log.debug("Authenticated user: {} with roles: {}", userId, roles);
+                        log.debug("Authenticated user: {} with roles: {}", verifiedToken.userId(), verifiedToken.roles());
 
+                        String assertion = identityAssertionSigner.sign(verifiedToken);
                         ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                                .header(GatewayConstants.HEADER_ACCOUNT_ID, userId)
-                                .header(GatewayConstants.HEADER_ACCOUNT_ROLE, String.join(",", roles))
-                                .header(GatewayConstants.HEADER_ACCOUNT_EMAIL, email)
+                                .header(GatewayConstants.HEADER_ACCOUNT_ID, verifiedToken.userId())
+                                .header(GatewayConstants.HEADER_ACCOUNT_ROLE, verifiedToken.roles())
+                                .header(GatewayConstants.HEADER_ACCOUNT_EMAIL, verifiedToken.email())
+                                .headers(headers -> {
+                                    if (assertion != null) {
+                                        headers.set(GatewayConstants.HEADER_IDENTITY_ASSERTION, assertion);
+                                    }
+                                })
                                 .build();
 
                         ServerWebExchange modifiedExchange = exchange.mutate()
                                 .request(modifiedRequest)
                                 .build();
+                        modifiedExchange.getAttributes().put(GatewayConstants.ATTR_ACCOUNT_ID, verifiedToken.userId());
 
                         return chain.filter(modifiedExchange);
                     })
@@ -111,7 +105,10 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
                     });
 
         } catch (GatewayTokenValidator.InvalidTokenException e) {
-            log.error("Invalid token: {}", e.getMessage());
+            phaseMetrics.record(GatewayPhaseMetrics.PHASE_AUTH, exchange,
+                    GatewayPhaseMetrics.OUTCOME_FAILURE, System.nanoTime() - verifyStart);
+            // Expired and malformed tokens are routine client errors, not gateway failures
+            log.debug("Rejected token for {}: {}", path, e.getMessage());
             return onError(exchange, e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
             log.error("Authentication error: {}", e.getMessage(), e);
@@ -119,6 +116,23 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
+    /**
+     * Removes identity headers sent by the client, so only what this filter verified reaches
+     * the services. The request is only rebuilt when there is something to remove.
+     */
+    private static ServerWebExchange stripIdentityHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (GatewayConstants.IDENTITY_HEADERS.stream().noneMatch(headers::containsKey)) {
+            return exchange;
+        }
+
+        log.warn("Stripping client-supplied identity headers from {}", exchange.getRequest().getPath());
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(mutable -> GatewayConstants.IDENTITY_HEADERS.forEach(mutable::remove))
+                .build();
+        return exchange.mutate().request(stripped).build();
+    }
+
     private String extractToken(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(GatewayConstants.JWT_HEADER);
 
@@ -129,28 +143,8 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         return null;
     }
 
-    private boolean isPublicPath(String path) {
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
-    }
-
-    private boolean isPublicReadPath(String path) {
-        return PUBLIC_READ_PATHS.stream().anyMatch(path::startsWith);
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().add("Content-Type", "application/json");
-
-        String errorResponse = String.format(
-                "{\"success\":false,\"error\":{\"code\":\"%s\",\"message\":\"%s\"},\"timestamp\":\"%s\"}",
-                status.name(),
-                message,
-                java.time.Instant.now()
-        );
-
-        return exchange.getResponse().writeWith(
-                Mono.just(exchange.getResponse().bufferFactory().wrap(errorResponse.getBytes()))
-        );
+        return GatewayErrorResponses.write(exchange, status, message);
     }
 
     @Override
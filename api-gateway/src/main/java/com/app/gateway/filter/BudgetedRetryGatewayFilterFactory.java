@@ -0,0 +1,186 @@
+package com.app.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.EnableBodyCachingEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retry filter with exponential backoff plus jitter and a per-route {@link RetryBudget}.
+ * <p>
+ * Only idempotent requests are retried: GET, HEAD, OPTIONS, PUT and DELETE, or any method
+ * carrying an {@value #IDEMPOTENCY_KEY_HEADER} header. A retry happens on connection
+ * failures, timeouts and the configured statuses (502/503/504 by default), as long as the
+ * route's budget allows it. Attempts and denied retries are counted per route
+ * ({@code gateway.retry.attempts}, {@code gateway.retry.budget.exhausted}).
+ */
+@Slf4j
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public BudgetedRetryGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        private int retries = 2;
+
+        private Duration firstBackoff = Duration.ofMillis(50);
+
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        // Share of each delay that is randomised (0 = none, 1 = anywhere between 0 and the delay)
+        private double jitter = 0.5;
+
+        // Retries allowed as a share of the route's requests over the last 10 seconds
+        private double budgetRatio = 0.2;
+
+        private int minRetriesPerSecond = 3;
+
+        private List<HttpStatus> statuses = List.of(
+                HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Signals a response whose status asks for a retry; never leaves this filter.
+     */
+    private static final class RetryableStatusException extends RuntimeException {
+        private RetryableStatusException(HttpStatusCode status) {
+            super("Upstream responded " + status.value(), null, false, false);
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        RetryBudget budget = budgets.computeIfAbsent(routeId,
+                id -> new RetryBudget(config.getBudgetRatio(), config.getMinRetriesPerSecond()));
+        Counter retried = counter("gateway.retry.attempts", routeId, "Retries sent upstream");
+        Counter exhausted = counter("gateway.retry.budget.exhausted", routeId, "Retries denied by the route's retry budget");
+
+        if (config.getRouteId() != null && getPublisher() != null) {
+            // Retried requests must be able to replay their body
+            getPublisher().publishEvent(new EnableBodyCachingEvent(this, config.getRouteId()));
+        }
+
+        return (exchange, chain) -> {
+            budget.recordRequest();
+            if (config.getRetries() <= 0 || !isIdempotent(exchange.getRequest())) {
+                return chain.filter(exchange);
+            }
+
+            return Mono.defer(() -> chain.filter(exchange).then(Mono.defer(() -> checkStatus(exchange, config))))
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        Throwable failure = signal.failure();
+                        if (signal.totalRetries() >= config.getRetries()
+                                || !isRetryable(failure)
+                                || exchange.getResponse().isCommitted()) {
+                            return Mono.error(failure);
+                        }
+                        if (!budget.tryAcquire()) {
+                            exhausted.increment();
+                            log.warn("Retry budget exhausted for route {}, not retrying: {}", routeId, failure.getMessage());
+                            return Mono.error(failure);
+                        }
+
+                        retried.increment();
+                        Duration delay = backoff(config, signal.totalRetries());
+                        log.debug("Retrying {} on route {} in {}ms after: {}",
+                                exchange.getRequest().getPath(), routeId, delay.toMillis(), failure.getMessage());
+                        return Mono.delay(delay).doOnNext(tick -> reset(exchange));
+                    })))
+                    // Out of attempts or budget on a status: the last upstream response goes to the client as is
+                    .onErrorResume(RetryableStatusException.class, error -> Mono.empty());
+        };
+    }
+
+    private Mono<Void> checkStatus(ServerWebExchange exchange, Config config) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && config.getStatuses().stream().anyMatch(retryable -> retryable.value() == status.value())) {
+            return Mono.error(new RetryableStatusException(status));
+        }
+        return Mono.empty();
+    }
+
+    private static boolean isIdempotent(ServerHttpRequest request) {
+        return IDEMPOTENT_METHODS.contains(request.getMethod())
+                || request.getHeaders().containsKey(IDEMPOTENCY_KEY_HEADER);
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetryableStatusException
+                    || cause instanceof IOException
+                    || cause instanceof TimeoutException
+                    || cause instanceof org.springframework.cloud.gateway.support.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Duration backoff(Config config, long retry) {
+        long first = config.getFirstBackoff().toNanos();
+        long max = config.getMaxBackoff().toNanos();
+        long base = retry >= 30 ? max : Math.min(max, first << retry);
+        double jitter = Math.min(1.0, Math.max(0.0, config.getJitter()));
+        long randomised = (long) (base * (1.0 - jitter * ThreadLocalRandom.current().nextDouble()));
+        return Duration.ofNanos(randomised);
+    }
+
+    /**
+     * Drops the previous upstream response so the chain can route the request again.
+     */
+    private static void reset(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+            exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        }
+        ServerWebExchangeUtils.reset(exchange);
+    }
+
+    private Counter counter(String name, String routeId, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("routeId", routeId)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,158 @@
+package com.app.gateway.filter;
+
+import com.app.gateway.config.RateLimitProperties;
+import com.app.gateway.exception.GatewayErrorResponses;
+import com.app.gateway.security.GatewayConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Token-bucket rate limiting backed by Redis.
+ * <p>
+ * Runs right after {@link AuthenticationFilter}: authenticated calls are limited per account,
+ * anonymous ones per client IP. {@code /auth/login} and {@code /auth/register} have their own,
+ * stricter buckets. The bucket check is a single Lua script call; if Redis is unavailable the
+ * request is let through rather than failing the whole edge.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER_LIMIT = "X-RateLimit-Limit";
+    public static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+    public static final String HEADER_RESET = "X-RateLimit-Reset";
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final RateLimitProperties properties;
+    private final RedisScript<List<Long>> tokenBucketScript;
+    private final XForwardedRemoteAddressResolver forwardedAddressResolver;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RateLimitFilter(ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+                           RateLimitProperties properties) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.properties = properties;
+        this.tokenBucketScript = (RedisScript) RedisScript.of(
+                new ClassPathResource("scripts/token_bucket.lua"), List.class);
+        this.forwardedAddressResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : null;
+    }
+
+    private record Policy(String name, int limit, int durationSeconds) {
+
+        double refillPerMillisecond() {
+            return (double) limit / (durationSeconds * 1000.0);
+        }
+    }
+
+    private record BucketState(boolean allowed, long remaining, long retryAfterMs, long untilFullMs) {
+
+        // Redis could not be consulted
+        static final BucketState UNKNOWN = new BucketState(true, -1, 0, 0);
+
+        static BucketState of(List<Long> result) {
+            return new BucketState(result.get(0) == 1L, result.get(1), result.get(2), result.get(3));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()
+                || exchange.getRequest().getMethod() == HttpMethod.OPTIONS
+                || exchange.getAttribute(GatewayConstants.ATTR_CACHE_REVALIDATION) != null) {
+            return chain.filter(exchange);
+        }
+
+        Policy policy = resolvePolicy(exchange.getRequest().getPath().value());
+        String identity = resolveIdentity(exchange);
+        if (identity == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = KEY_PREFIX + policy.name() + ":" + identity;
+
+        return reactiveRedisTemplate.execute(tokenBucketScript, List.of(key), List.of(
+                        String.valueOf(policy.limit()),
+                        String.valueOf(policy.refillPerMillisecond()),
+                        "1"))
+                .next()
+                .map(BucketState::of)
+                .onErrorResume(error -> {
+                    log.error("Rate limiter unavailable, allowing request: {}", error.getMessage());
+                    return Mono.just(BucketState.UNKNOWN);
+                })
+                .defaultIfEmpty(BucketState.UNKNOWN)
+                .flatMap(bucket -> {
+                    if (bucket == BucketState.UNKNOWN) {
+                        return chain.filter(exchange);
+                    }
+
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.set(HEADER_LIMIT, String.valueOf(policy.limit()));
+                    headers.set(HEADER_REMAINING, String.valueOf(bucket.remaining()));
+                    headers.set(HEADER_RESET, String.valueOf(toSeconds(bucket.untilFullMs())));
+
+                    if (bucket.allowed()) {
+                        return chain.filter(exchange);
+                    }
+
+                    log.warn("Rate limit exceeded: policy={}, identity={}", policy.name(), identity);
+                    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(bucket.retryAfterMs())));
+                    return GatewayErrorResponses.write(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                            "Too many requests, please retry later");
+                });
+    }
+
+    private Policy resolvePolicy(String path) {
+        if (path.equals("/auth/login")) {
+            return new Policy("login", properties.getAuthLoginLimit(), properties.getAuthLoginDuration());
+        }
+        if (path.equals("/auth/register")) {
+            return new Policy("register", properties.getAuthRegisterLimit(), properties.getAuthRegisterDuration());
+        }
+        return new Policy("default", properties.getDefaultLimit(), properties.getDefaultDuration());
+    }
+
+    private String resolveIdentity(ServerWebExchange exchange) {
+        String accountId = exchange.getAttribute(GatewayConstants.ATTR_ACCOUNT_ID);
+        if (accountId != null) {
+            return "account:" + accountId;
+        }
+
+        InetSocketAddress address = forwardedAddressResolver != null
+                ? forwardedAddressResolver.resolve(exchange)
+                : exchange.getRequest().getRemoteAddress();
+        if (address == null || address.getAddress() == null) {
+            return null;
+        }
+        return "ip:" + address.getAddress().getHostAddress();
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    @Override
+    public int getOrder() {
+        // After AuthenticationFilter, so the account id is known, and after ResponseCacheFilter
+        return -90;
+    }
+}
@@ -0,0 +1,290 @@
+package com.app.gateway.filter;
+
+import com.app.gateway.cache.CachedResponse;
+import com.app.gateway.cache.ResponseCache;
+import com.app.gateway.config.ResponseCacheProperties;
+import com.app.gateway.security.GatewayConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Edge cache for anonymous catalog reads ({@code gateway.cache.routes}).
+ * <p>
+ * Only GETs without an {@code Authorization} header are cached, so personalised responses
+ * never end up shared. Keys vary on the query string. Fresh entries are served directly,
+ * honouring {@code If-None-Match}; entries inside their stale-while-revalidate window are
+ * served while a single background request refreshes them; on a miss concurrent requests
+ * for the same key wait for one upstream fetch instead of all going to the backend.
+ * <p>
+ * Runs before {@link RateLimitFilter}: cache hits cost the backends nothing and are not
+ * counted against the caller's bucket.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER_CACHE = "X-Cache";
+
+    // Marks the gateway's own background refresh requests; the value is a per-instance secret
+    private static final String HEADER_REVALIDATE = "X-Gateway-Cache-Revalidate";
+
+    private static final Duration REVALIDATION_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ResponseCache cache;
+    private final WebClient webClient = WebClient.create();
+    private final byte[] revalidationToken = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    private volatile int localPort = -1;
+
+    public ResponseCacheFilter(ResponseCache cache, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.hits = resultCounter(meterRegistry, "hit");
+        this.staleHits = resultCounter(meterRegistry, "stale");
+        this.sharedHits = resultCounter(meterRegistry, "shared");
+        this.misses = resultCounter(meterRegistry, "miss");
+        this.bypasses = resultCounter(meterRegistry, "bypass");
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        localPort = event.getWebServer().getPort();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!cache.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String path = request.getPath().value();
+        ResponseCacheProperties.Route route = cache.resolve(path);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            bypasses.increment();
+            return chain.filter(exchange);
+        }
+
+        String key = ResponseCache.keyFor(path, request.getURI().getRawQuery());
+
+        if (isRevalidation(request)) {
+            exchange.getAttributes().put(GatewayConstants.ATTR_CACHE_REVALIDATION, Boolean.TRUE);
+            return fetch(exchange, chain, key, route, null);
+        }
+
+        Instant now = Instant.now();
+        CachedResponse entry = cache.get(key);
+        if (entry != null && entry.isFresh(now)) {
+            hits.increment();
+            return serve(exchange, entry, "HIT");
+        }
+        if (entry != null && entry.isUsable(now)) {
+            staleHits.increment();
+            revalidate(key, request);
+            return serve(exchange, entry, "STALE");
+        }
+
+        ResponseCache.Flight flight = cache.begin(key);
+        if (flight.leader()) {
+            misses.increment();
+            return fetch(exchange, chain, key, route, flight);
+        }
+
+        log.debug("Waiting on in-flight fetch for {}", key);
+        return flight.result()
+                .timeout(cache.getLockTimeout())
+                .map(Optional::of)
+                .onErrorReturn(Optional.empty())
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isPresent()) {
+                        sharedHits.increment();
+                        return serve(exchange, shared.get(), "HIT");
+                    }
+                    // Leader's response could not be cached (error, uncacheable): go upstream ourselves
+                    misses.increment();
+                    return chain.filter(exchange);
+                });
+    }
+
+    /**
+     * Forwards the request and stores a cacheable response on its way back to the client.
+     */
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key,
+                             ResponseCacheProperties.Route route, ResponseCache.Flight flight) {
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        // Always ask for the full representation, the conditional part is answered here
+        ServerHttpRequest upstreamRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    headers.remove(HEADER_REVALIDATE);
+                })
+                .build();
+
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getStatusCode(), getHeaders())) {
+                    complete(flight, null);
+                    return super.writeWith(body);
+                }
+
+                return DataBufferUtils.join(body)
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+
+                            CachedResponse entry = cache.store(key, route, getHeaders(), bytes);
+                            complete(flight, entry);
+                            if (entry == null) {
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            }
+
+                            getHeaders().setETag(entry.etag());
+                            getHeaders().set(HEADER_CACHE, "MISS");
+                            if (ResponseCache.matchesEtag(ifNoneMatch, entry.etag())) {
+                                setStatusCode(HttpStatus.NOT_MODIFIED);
+                                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                                getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                                return setComplete();
+                            }
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build())
+                .doFinally(signal -> complete(flight, null));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, String result) {
+        Instant now = Instant.now();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf(entry.ageSeconds(now)));
+        headers.set(HEADER_CACHE, result);
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ResponseCache.matchesEtag(ifNoneMatch, entry.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        headers.putAll(entry.headers());
+        headers.setContentLength(entry.body().length);
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    /**
+     * Refreshes a stale entry by sending the request through the gateway again, at most one
+     * refresh per key at a time. The response is stored by {@link #fetch} like any other miss.
+     */
+    private void revalidate(String key, ServerHttpRequest request) {
+        if (localPort < 0 || !revalidating.add(key)) {
+            return;
+        }
+
+        URI uri = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme("http")
+                .host("127.0.0.1")
+                .port(localPort)
+                .build(true)
+                .toUri();
+
+        webClient.get()
+                .uri(uri)
+                .header(HEADER_REVALIDATE, new String(revalidationToken, StandardCharsets.UTF_8))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(REVALIDATION_TIMEOUT)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        result -> log.debug("Revalidated cached response for {}", key),
+                        error -> log.warn("Revalidation of {} failed, serving stale until it expires: {}",
+                                key, error.getMessage()));
+    }
+
+    private boolean isRevalidation(ServerHttpRequest request) {
+        String token = request.getHeaders().getFirst(HEADER_REVALIDATE);
+        return token != null
+                && MessageDigest.isEqual(revalidationToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void complete(ResponseCache.Flight flight, CachedResponse entry) {
+        if (flight != null) {
+            cache.complete(flight, entry);
+        }
+    }
+
+    private static boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache")
+                .description("Responses for cacheable routes, by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // After AuthenticationFilter (only public routes get here unauthenticated), before RateLimitFilter
+        return -95;
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.gateway.filter;
+
+/**
+ * Caps retries at a share of the traffic a route has seen over a sliding window.
+ * <p>
+ * Every request is counted with {@link #recordRequest()}; a retry is allowed only while the
+ * retries in the window stay below {@code ratio} x requests, with a floor of
+ * {@code minRetriesPerSecond} so low-traffic routes can still retry at all. During a
+ * brownout the budget is spent within the first failures and the rest fail fast instead of
+ * multiplying the load on the struggling upstream.
+ */
+final class RetryBudget {
+
+    private static final int WINDOW_SECONDS = 10;
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+
+    // One slot per second of the window, indexed by epoch second
+    private final long[] slotSecond = new long[WINDOW_SECONDS];
+    private final long[] requests = new long[WINDOW_SECONDS];
+    private final long[] retries = new long[WINDOW_SECONDS];
+
+    RetryBudget(double ratio, int minRetriesPerSecond) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    synchronized void recordRequest() {
+        requests[slot(currentSecond())]++;
+    }
+
+    synchronized boolean tryAcquire() {
+        long now = currentSecond();
+        int current = slot(now);
+
+        long windowRequests = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (now - slotSecond[i] < WINDOW_SECONDS) {
+                windowRequests += requests[i];
+                windowRetries += retries[i];
+            }
+        }
+
+        double allowed = Math.max((double) minRetriesPerSecond * WINDOW_SECONDS, ratio * windowRequests);
+        if (windowRetries >= allowed) {
+            return false;
+        }
+        retries[current]++;
+        return true;
+    }
+
+    private int slot(long second) {
+        int index = (int) (second % WINDOW_SECONDS);
+        if (slotSecond[index] != second) {
+            slotSecond[index] = second;
+            requests[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.gateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over the service's instances: two distinct instances are drawn at
+ * random and the one with the lower {@link LoadBalancerStats.InstanceStats#cost() cost}
+ * (latency EWMA x outstanding requests) wins. Ejected instances are skipped unless every
+ * instance is ejected, in which case all of them are candidates again.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final LoadBalancerStats stats;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId,
+                                    LoadBalancerStats stats) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request)
+                .next()
+                .map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        stats.retain(serviceId, instances);
+
+        List<ServiceInstance> candidates = available(instances);
+        ServiceInstance chosen;
+        if (candidates.size() == 1) {
+            chosen = candidates.get(0);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            ServiceInstance a = candidates.get(first);
+            ServiceInstance b = candidates.get(second);
+            chosen = stats.get(a).cost() <= stats.get(b).cost() ? a : b;
+        }
+
+        stats.get(chosen).onSelected();
+        return new DefaultResponse(chosen);
+    }
+
+    private List<ServiceInstance> available(List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        List<ServiceInstance> available = null;
+        for (int i = 0; i < instances.size(); i++) {
+            ServiceInstance instance = instances.get(i);
+            boolean ejected = stats.get(instance).isEjected(now);
+            if (ejected && available == null) {
+                available = new ArrayList<>(instances.subList(0, i));
+            } else if (!ejected && available != null) {
+                available.add(instance);
+            }
+        }
+
+        if (available == null) {
+            return instances;
+        }
+        // Everything ejected: better to try a suspect instance than to fail outright
+        return available.isEmpty() ? instances : available;
+    }
+}
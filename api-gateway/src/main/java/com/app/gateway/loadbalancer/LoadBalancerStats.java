@@ -0,0 +1,232 @@
+package com.app.gateway.loadbalancer;
+
+import com.app.gateway.config.LoadBalancingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Per-instance load and health, shared by {@link LatencyAwareLoadBalancer} (reads) and
+ * {@link LoadBalancerStatsLifecycle} (writes).
+ * <p>
+ * Latency is a peak-sensitive EWMA: a slower sample replaces the average at once, faster
+ * samples pull it down gradually over {@code decay-time}, so a pausing instance loses
+ * traffic immediately and regains it as it proves healthy again. Consecutive failures
+ * eject an instance for a growing period, within {@code max-ejection-percent} of the service.
+ */
+@Slf4j
+@Component
+public class LoadBalancerStats {
+
+    // Latency charged for a failed call, so an instance that fails fast does not look fast
+    private static final long FAILURE_PENALTY_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final LoadBalancingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ServiceStats> services = new ConcurrentHashMap<>();
+
+    public LoadBalancerStats(LoadBalancingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return services.computeIfAbsent(serviceKey(instance.getServiceId()), ServiceStats::new)
+                .get(instanceIdOf(instance));
+    }
+
+    /**
+     * Drops the stats (and meters) of instances that left the registry.
+     */
+    public void retain(String serviceId, List<ServiceInstance> instances) {
+        ServiceStats service = services.computeIfAbsent(serviceKey(serviceId), ServiceStats::new);
+        service.instanceCount = instances.size();
+        if (service.instances.size() <= instances.size()) {
+            return;
+        }
+
+        Set<String> live = instances.stream()
+                .map(LoadBalancerStats::instanceIdOf)
+                .collect(Collectors.toSet());
+        service.instances.entrySet().removeIf(entry -> {
+            if (live.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters.forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    // Eureka reports instances under the upper-case app name, routes use the lower-case service id
+    private static String serviceKey(String serviceId) {
+        return serviceId.toLowerCase(Locale.ROOT);
+    }
+
+    static String instanceIdOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class ServiceStats {
+        private final String serviceId;
+        private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+        private volatile int instanceCount;
+
+        private ServiceStats(String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        InstanceStats get(String instanceId) {
+            return instances.computeIfAbsent(instanceId, id -> new InstanceStats(this, id));
+        }
+
+        boolean mayEject(long now) {
+            int total = Math.max(instanceCount, instances.size());
+            long ejected = instances.values().stream().filter(stats -> stats.isEjected(now)).count();
+            return (ejected + 1) * 100 <= (long) total * properties.getMaxEjectionPercent();
+        }
+    }
+
+    public final class InstanceStats {
+        private final ServiceStats service;
+        private final String instanceId;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final Counter selections;
+        private final Counter ejectionCounter;
+        private final List<Meter> meters;
+
+        private double ewmaNanos;
+        private long lastSampleNanos;
+        private int ejections;
+        private volatile long ejectedUntilNanos;
+
+        private InstanceStats(ServiceStats service, String instanceId) {
+            this.service = service;
+            this.instanceId = instanceId;
+            this.ewmaNanos = properties.getInitialLatency().toNanos();
+            this.lastSampleNanos = System.nanoTime();
+            this.ejectedUntilNanos = lastSampleNanos;
+
+            Tags tags = Tags.of("service", service.serviceId, "instance", instanceId);
+            this.selections = Counter.builder("gateway.loadbalancer.selections")
+                    .description("Times the instance was picked for a request")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.ejectionCounter = Counter.builder("gateway.loadbalancer.ejections")
+                    .description("Times the instance was ejected after repeated failures")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.meters = List.of(
+                    selections,
+                    ejectionCounter,
+                    Gauge.builder("gateway.loadbalancer.latency", this, stats -> stats.latencyNanos() / 1e9)
+                            .description("Peak EWMA of the instance's response latency")
+                            .baseUnit("seconds")
+                            .tags(tags)
+                            .register(meterRegistry),
+                    Gauge.builder("gateway.loadbalancer.outstanding", outstanding, AtomicInteger::get)
+                            .description("Requests in flight to the instance")
+                            .tags(tags)
+                            .register(meterRegistry),
+                    Gauge.builder("gateway.loadbalancer.ejected", this,
+                                    stats -> stats.isEjected(System.nanoTime()) ? 1 : 0)
+                            .description("1 while the instance is ejected after repeated failures")
+                            .tags(tags)
+                            .register(meterRegistry));
+        }
+
+        /**
+         * Expected cost of sending one more request here: latency scaled by the queue in front of it.
+         */
+        public double cost() {
+            return latencyNanos() * (outstanding.get() + 1);
+        }
+
+        public boolean isEjected(long now) {
+            return ejectedUntilNanos - now > 0;
+        }
+
+        synchronized double latencyNanos() {
+            return ewmaNanos;
+        }
+
+        void onSelected() {
+            selections.increment();
+        }
+
+        void onStart() {
+            outstanding.incrementAndGet();
+        }
+
+        void onAbandoned() {
+            outstanding.decrementAndGet();
+        }
+
+        void onSuccess(long latencyNanos) {
+            outstanding.decrementAndGet();
+            consecutiveFailures.set(0);
+            observe(latencyNanos);
+        }
+
+        void onFailure(long latencyNanos) {
+            outstanding.decrementAndGet();
+            observe(Math.max(latencyNanos, FAILURE_PENALTY_NANOS));
+
+            if (consecutiveFailures.incrementAndGet() >= properties.getConsecutiveFailures()) {
+                eject();
+            }
+        }
+
+        private synchronized void observe(long latencyNanos) {
+            long now = System.nanoTime();
+            // A long healthy stretch after the last ejection starts the back-off over
+            if (ejections > 0 && now - ejectedUntilNanos > properties.getMaxEjectionTime().toNanos()) {
+                ejections = 0;
+            }
+            if (latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) (now - lastSampleNanos) / properties.getDecayTime().toNanos());
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastSampleNanos = now;
+        }
+
+        private synchronized void eject() {
+            long now = System.nanoTime();
+            if (isEjected(now) || !service.mayEject(now)) {
+                return;
+            }
+
+            ejections++;
+            long duration = Math.min(
+                    properties.getBaseEjectionTime().toNanos() * ejections,
+                    properties.getMaxEjectionTime().toNanos());
+            ejectedUntilNanos = now + duration;
+            consecutiveFailures.set(0);
+
+            ejectionCounter.increment();
+            log.warn("Ejecting {} instance {} for {}s after {} consecutive failures",
+                    service.serviceId, instanceId, TimeUnit.NANOSECONDS.toSeconds(duration),
+                    properties.getConsecutiveFailures());
+        }
+    }
+}
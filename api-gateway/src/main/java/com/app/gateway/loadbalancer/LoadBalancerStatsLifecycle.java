@@ -0,0 +1,96 @@
+package com.app.gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Feeds the outcome of every load-balanced gateway call back into {@link LoadBalancerStats}.
+ * <p>
+ * A call counts as failed when it ends with an error (connect failure, response timeout) or
+ * a 5xx from the instance. Calls that are cancelled never complete; their start records are
+ * dropped after {@link #ABANDONED_AFTER} so the outstanding counts do not drift.
+ */
+@Component
+public class LoadBalancerStatsLifecycle
+        implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(5);
+
+    private final LoadBalancerStats stats;
+
+    // Keyed by the load-balancer request object (identity, weakly held)
+    private final Cache<Object, StartedCall> startedCalls;
+
+    private record StartedCall(LoadBalancerStats.InstanceStats stats, long startNanos) {
+    }
+
+    public LoadBalancerStatsLifecycle(LoadBalancerStats stats) {
+        this.stats = stats;
+        this.startedCalls = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(ABANDONED_AFTER)
+                .<Object, StartedCall>removalListener((request, call, cause) -> {
+                    if (call != null && cause != RemovalCause.EXPLICIT) {
+                        call.stats().onAbandoned();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        LoadBalancerStats.InstanceStats instanceStats = stats.get(lbResponse.getServer());
+        instanceStats.onStart();
+        startedCalls.put(request, new StartedCall(instanceStats, System.nanoTime()));
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        StartedCall call = startedCalls.asMap().remove(completionContext.getLoadBalancerRequest());
+        if (call == null) {
+            return;
+        }
+
+        long latency = System.nanoTime() - call.startNanos();
+        if (isFailure(completionContext)) {
+            call.stats().onFailure(latency);
+        } else {
+            call.stats().onSuccess(latency);
+        }
+    }
+
+    private static boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+        if (context.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        ResponseData response = context.getClientResponse();
+        HttpStatusCode status = response != null ? response.getHttpStatus() : null;
+        return status != null && status.is5xxServerError();
+    }
+}
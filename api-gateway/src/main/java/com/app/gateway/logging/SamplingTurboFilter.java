@@ -0,0 +1,70 @@
+package com.app.gateway.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps DEBUG and INFO events at {@code maxPerSecond} per logger; the rest are denied before
+ * the message is formatted or an event object is created. WARN and ERROR always pass, and
+ * so do {@code isXxxEnabled()} checks, which carry no message and must not use up the budget.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final AtomicLong SAMPLED_OUT = new AtomicLong();
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private int maxPerSecond = 100;
+
+    /**
+     * Events denied since startup, across all instances of the filter.
+     */
+    public static long sampledOut() {
+        return SAMPLED_OUT.get();
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format == null || level == null || level.levelInt >= Level.WARN_INT
+                // Not logger.isEnabledFor(): that runs the turbo filters again
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        if (window.tryAcquire(System.currentTimeMillis() / 1000, maxPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Events of one logger in the current second; lock-free, a reset racing with an increment
+     * can let a few extra events through.
+     */
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now, int max) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
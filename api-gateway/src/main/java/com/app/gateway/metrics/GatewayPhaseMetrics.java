@@ -0,0 +1,121 @@
+package com.app.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the individual phases of a gateway request, published as
+ * {@code gateway.phase.duration} with percentile histograms and tagged by phase, route id
+ * and outcome. Together with Spring Cloud Gateway's own {@code spring.cloud.gateway.requests}
+ * they show whether time goes into the gateway's filters or into the upstream service.
+ * <p>
+ * When the request is traced, each recorded phase is also added as a {@code gateway.<phase>}
+ * child span of the request's server span, so the phases show up in the trace too.
+ */
+@Component
+public class GatewayPhaseMetrics {
+
+    public static final String PHASE_AUTH = "auth";
+    public static final String PHASE_BLACKLIST = "blacklist";
+    public static final String PHASE_UPSTREAM_CONNECT = "upstream_connect";
+    public static final String PHASE_UPSTREAM_RESPONSE = "upstream_response";
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_FAILURE = "FAILURE";
+
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+
+    // Registered timers by "phase|route|outcome", avoids a registry lookup per request
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public GatewayPhaseMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = null;
+    }
+
+    @Autowired
+    public GatewayPhaseMetrics(MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer.getIfAvailable();
+    }
+
+    public void record(String phase, ServerWebExchange exchange, String outcome, long durationNanos) {
+        timer(phase, routeId(exchange), outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+        span(phase, exchange, outcome, durationNanos);
+    }
+
+    /**
+     * Times {@code mono} from subscription to its terminal signal.
+     */
+    public <T> Mono<T> time(String phase, ServerWebExchange exchange, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                    .doOnSuccess(value -> record(phase, exchange, OUTCOME_SUCCESS, System.nanoTime() - start))
+                    .doOnError(error -> record(phase, exchange, OUTCOME_FAILURE, System.nanoTime() - start));
+        });
+    }
+
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    /**
+     * Records the phase after the fact as a child of the request's server span; the reactive
+     * chain carries no current span we could open one under while the phase runs.
+     */
+    private void span(String phase, ServerWebExchange exchange, String outcome, long durationNanos) {
+        if (tracer == null) {
+            return;
+        }
+        Span parent = ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .map(context -> context.<TracingObservationHandler.TracingContext>get(
+                        TracingObservationHandler.TracingContext.class))
+                .map(TracingObservationHandler.TracingContext::getSpan)
+                .orElse(null);
+        if (parent == null || parent.isNoop()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        long endNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        tracer.spanBuilder()
+                .setParent(parent.context())
+                .name("gateway." + phase)
+                .tag("routeId", routeId(exchange))
+                .tag("outcome", outcome)
+                .startTimestamp(endNanos - durationNanos, TimeUnit.NANOSECONDS)
+                .start()
+                .end(endNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String phase, String routeId, String outcome) {
+        return timers.computeIfAbsent(phase + '|' + routeId + '|' + outcome, key -> Timer.builder("gateway.phase.duration")
+                .description("Time spent in one phase of a gateway request")
+                .tag("phase", phase)
+                .tag("routeId", routeId)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.gateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Per-call timing state, carried in the Reactor context from {@link UpstreamTimingFilter}
+ * to the Netty client callbacks registered by {@link UpstreamTimingConfig}.
+ */
+final class UpstreamTiming {
+
+    final ServerWebExchange exchange;
+    final long startNanos;
+    volatile long requestSentNanos;
+
+    UpstreamTiming(ServerWebExchange exchange, long startNanos) {
+        this.exchange = exchange;
+        this.startNanos = startNanos;
+    }
+}
@@ -0,0 +1,50 @@
+package com.app.gateway.metrics;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClientInfos;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.util.Optional;
+
+/**
+ * Hooks the gateway's Netty client to time the two upstream phases:
+ * connect (pool acquire or TCP connect, until the request is sent) and response
+ * (request sent until the response headers arrive). Response timings are tagged with the
+ * upstream status class ({@code 2xx}, {@code 5xx}, ...) as outcome.
+ */
+@Configuration
+public class UpstreamTimingConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamTimingCustomizer(GatewayPhaseMetrics metrics) {
+        return httpClient -> httpClient
+                .doOnRequest((request, connection) -> timing(request).ifPresent(timing -> {
+                    long now = System.nanoTime();
+                    timing.requestSentNanos = now;
+                    metrics.record(GatewayPhaseMetrics.PHASE_UPSTREAM_CONNECT, timing.exchange,
+                            GatewayPhaseMetrics.OUTCOME_SUCCESS, now - timing.startNanos);
+                }))
+                .doOnRequestError((request, error) -> timing(request).ifPresent(timing ->
+                        metrics.record(GatewayPhaseMetrics.PHASE_UPSTREAM_CONNECT, timing.exchange,
+                                GatewayPhaseMetrics.OUTCOME_FAILURE, System.nanoTime() - timing.startNanos)))
+                .doOnResponse((response, connection) -> timing(response).ifPresent(timing ->
+                        metrics.record(GatewayPhaseMetrics.PHASE_UPSTREAM_RESPONSE, timing.exchange,
+                                statusClass(response), System.nanoTime() - timing.requestSentNanos)))
+                .doOnResponseError((response, error) -> timing(response).ifPresent(timing -> {
+                    if (timing.requestSentNanos != 0) {
+                        metrics.record(GatewayPhaseMetrics.PHASE_UPSTREAM_RESPONSE, timing.exchange,
+                                GatewayPhaseMetrics.OUTCOME_FAILURE, System.nanoTime() - timing.requestSentNanos);
+                    }
+                }));
+    }
+
+    private static Optional<UpstreamTiming> timing(HttpClientInfos infos) {
+        return infos.currentContextView().getOrEmpty(UpstreamTiming.class);
+    }
+
+    private static String statusClass(HttpClientResponse response) {
+        return (response.status().code() / 100) + "xx";
+    }
+}
@@ -1,9 +1,23 @@
 package com.app.gateway.security;
 
+import java.util.List;
+
 public final class GatewayConstants {
     public static final String HEADER_ACCOUNT_ROLE = "X-Account-Roles";
     public static final String HEADER_ACCOUNT_ID = "X-Account-Id";
     public static final String HEADER_ACCOUNT_EMAIL = "X-Account-Email";
+    public static final String HEADER_IDENTITY_ASSERTION = "X-Identity-Assertion";
     public static final String JWT_HEADER = "Authorization";
     public static final String JWT_PREFIX = "Bearer ";
+
+    // Identity headers only the gateway may set; stripped from every incoming request
+    public static final List<String> IDENTITY_HEADERS = List.of(
+            HEADER_ACCOUNT_ID, HEADER_ACCOUNT_ROLE, HEADER_ACCOUNT_EMAIL, HEADER_IDENTITY_ASSERTION,
+            "X-User-Id", "X-User-Roles");
+
+    // Exchange attribute holding the authenticated account id, set by AuthenticationFilter
+    public static final String ATTR_ACCOUNT_ID = "gateway.accountId";
+
+    // Exchange attribute marking the response cache's own background refresh requests
+    public static final String ATTR_CACHE_REVALIDATION = "gateway.cacheRevalidation";
 }
@@ -14,14 +14,31 @@ public class GatewayJwtProperties {
 
     private String issuer = "auth-service";
 
+    private String jwksUri;
+
+    private Long jwksRefreshInterval = 300000L;
+
     private Long accessTokenExpiration = 900000L;
 
     private Long refreshTokenExpiration = 604800000L;
 
     private Long serviceTokenExpiration = 300000L;
 
+    // Upper bound on verified tokens kept in memory by GatewayTokenValidator
+    private Long verifiedTokenCacheSize = 10000L;
+
+    // Shared with the services to sign the forwarded identity; unset = services verify the bearer token
+    private String identityAssertionSecret;
+
+    // Lifetime of an identity assertion, capped by the token's own expiry
+    private Long identityAssertionTtl = 30000L;
+
     public boolean isRsaMode() {
         return publicKey != null && !publicKey.isBlank();
     }
 
+    public boolean isJwksMode() {
+        return jwksUri != null && !jwksUri.isBlank();
+    }
+
 }
\ No newline at end of file
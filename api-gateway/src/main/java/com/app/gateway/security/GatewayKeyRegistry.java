@@ -0,0 +1,245 @@
+package com.app.gateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
+import java.security.interfaces.RSAKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway counterpart of common's JwtKeyRegistry.
+ * <p>
+ * Lookups run on the event loop, so a token with an unknown {@code kid} never blocks on the
+ * JWKS endpoint: it schedules a background refresh and falls back to the configured key.
+ * Keys may be RSA (RS256), EC P-256 (ES256) or Ed25519 (EdDSA); each is pinned to its JWK
+ * {@code alg} or the algorithm its type implies, and tokens naming another one are rejected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GatewayKeyRegistry extends LocatorAdapter<Key> {
+
+    private static final long MIN_REFRESH_INTERVAL_MS = 30_000L;
+
+    private static final List<String> KEY_ALGORITHMS = List.of("RSA", "EC", "EdDSA");
+
+    private final GatewayJwtProperties jwtProperties;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile Map<String, VerificationKey> jwksKeys = Map.of();
+    private volatile VerificationKey configuredKey;
+    private volatile long lastRefreshAttempt;
+
+    private ScheduledExecutorService scheduler;
+
+    private record VerificationKey(PublicKey key, String algorithm) {
+
+        static VerificationKey of(PublicKey key) {
+            return new VerificationKey(key, algorithmOf(key));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (jwtProperties.isRsaMode()) {
+            try {
+                configuredKey = VerificationKey.of(parsePublicKey(jwtProperties.getPublicKey()));
+                log.info("Loaded configured JWT public key, alg={}", configuredKey.algorithm());
+            } catch (Exception e) {
+                log.warn("Configured JWT public key could not be loaded: {}", e.getMessage());
+            }
+        }
+
+        if (jwtProperties.isJwksMode()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = jwtProperties.getJwksRefreshInterval();
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+
+        if (kid != null) {
+            VerificationKey key = jwksKeys.get(kid);
+            if (key != null) {
+                return checkAlgorithm(header, key);
+            }
+            scheduleRefreshIfStale();
+            if (configuredKey == null) {
+                throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+            }
+        }
+
+        if (configuredKey == null) {
+            throw new IllegalStateException("No JWT verification key configured! Set jwt.publicKey or jwt.jwksUri");
+        }
+        return checkAlgorithm(header, configuredKey);
+    }
+
+    private static PublicKey checkAlgorithm(JwsHeader header, VerificationKey key) {
+        if (!key.algorithm().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException(
+                    "Token algorithm " + header.getAlgorithm() + " does not match its key (" + key.algorithm() + ")");
+        }
+        return key.key();
+    }
+
+    void refresh() {
+        lastRefreshAttempt = System.currentTimeMillis();
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwtProperties.getJwksUri()))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                log.warn("JWKS refresh failed with status {}", response.statusCode());
+                return;
+            }
+
+            JwkSet jwkSet = Jwks.setParser().build().parse(response.body());
+            Map<String, VerificationKey> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                if (jwk.getId() == null || !(jwk.toKey() instanceof PublicKey publicKey)) {
+                    continue;
+                }
+                try {
+                    keys.put(jwk.getId(), jwk.getAlgorithm() != null
+                            ? new VerificationKey(publicKey, jwk.getAlgorithm())
+                            : VerificationKey.of(publicKey));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring JWKS key {}: {}", jwk.getId(), e.getMessage());
+                }
+            }
+
+            if (!keys.keySet().equals(jwksKeys.keySet())) {
+                log.info("JWKS updated, kids={}", keys.keySet());
+            }
+            jwksKeys = Map.copyOf(keys);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed: {}", jwtProperties.getJwksUri(), e.getMessage());
+        }
+    }
+
+    private void scheduleRefreshIfStale() {
+        if (scheduler == null) {
+            return;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - lastRefreshAttempt < MIN_REFRESH_INTERVAL_MS) {
+                return;
+            }
+            lastRefreshAttempt = System.currentTimeMillis();
+        }
+        scheduler.execute(this::refresh);
+    }
+
+    private static PublicKey parsePublicKey(String pem) {
+        String publicKeyPEM = pem
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+
+        byte[] keyBytes = Base64.getDecoder().decode(publicKeyPEM);
+        for (String keyAlgorithm : KEY_ALGORITHMS) {
+            try {
+                PublicKey key = KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(keyBytes));
+                algorithmOf(key);
+                return key;
+            } catch (Exception e) {
+                // Not this key type, try the next one
+            }
+        }
+        throw new IllegalArgumentException("Not an RSA, EC P-256 or Ed25519 public key");
+    }
+
+    private static String algorithmOf(PublicKey key) {
+        if (key instanceof RSAKey) {
+            return "RS256";
+        }
+        if (key instanceof ECKey ecKey) {
+            // Other 256-bit curves (secp256k1) would load here and only fail when verifying
+            if (!isP256(ecKey.getParams())) {
+                throw new IllegalArgumentException("Unsupported EC curve for JWT signing key, only P-256 is accepted");
+            }
+            return "ES256";
+        }
+        if (key instanceof EdECKey edKey && "Ed25519".equals(edKey.getParams().getName())) {
+            return "EdDSA";
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing key type: " + key.getAlgorithm());
+    }
+
+    private static boolean isP256(ECParameterSpec params) {
+        ECParameterSpec p256 = P256Holder.SPEC;
+        return params.getCurve().equals(p256.getCurve())
+                && params.getGenerator().equals(p256.getGenerator())
+                && params.getOrder().equals(p256.getOrder())
+                && params.getCofactor() == p256.getCofactor();
+    }
+
+    private static final class P256Holder {
+
+        static final ECParameterSpec SPEC = p256();
+
+        private static ECParameterSpec p256() {
+            try {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                return parameters.getParameterSpec(ECParameterSpec.class);
+            } catch (Exception e) {
+                throw new IllegalStateException("P-256 curve parameters not available", e);
+            }
+        }
+    }
+}
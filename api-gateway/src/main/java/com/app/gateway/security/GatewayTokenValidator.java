@@ -1,25 +1,48 @@
 package com.app.gateway.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GatewayTokenValidator {
 
     private final GatewayJwtProperties jwtProperties;
 
+    /**
+     * Verified tokens keyed by the SHA-256 of the raw token. Entries expire together with
+     * the token itself, so a cache hit never outlives {@code exp}.
+     */
+    private final Cache<String, GatewayVerifiedToken> verifiedTokens;
+
+    // Thread-safe; keys are resolved per token by kid through the registry
+    private final JwtParser jwtParser;
+
+    public GatewayTokenValidator(GatewayJwtProperties jwtProperties, GatewayKeyRegistry keyRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRegistry)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
 
     public static class InvalidTokenException extends RuntimeException {
         public InvalidTokenException(String message) {
@@ -30,39 +53,34 @@ public class GatewayTokenValidator {
         }
     }
 
-    public void validateToken(String token) {
-        try {
-            getClaims(token);
-        } catch (SignatureException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-            throw new InvalidTokenException("Invalid token signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            throw new InvalidTokenException("Malformed token");
-        } catch (ExpiredJwtException ex) {
-            log.error("JWT token is expired: {}", ex.getMessage());
+    /**
+     * Verifies the token signature and expiry and returns its claims. Successful results are
+     * cached, so repeated calls with the same token skip the signature check until it expires.
+     */
+    public GatewayVerifiedToken verify(String token) {
+        String cacheKey = hashToken(token);
+
+        GatewayVerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(cacheKey);
             throw new InvalidTokenException("Token expired");
-        } catch (UnsupportedJwtException ex) {
-            log.error("JWT token is unsupported: {}", ex.getMessage());
-            throw new InvalidTokenException("Unsupported token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-            throw new InvalidTokenException("Token claims are empty");
         }
+
+        GatewayVerifiedToken verified = parse(token);
+        verifiedTokens.put(cacheKey, verified);
+        return verified;
+    }
+
+    public void validateToken(String token) {
+        verify(token);
     }
 
     public Claims getClaims(String token) {
         try {
-            if (jwtProperties.isRsaMode()) {
-                log.debug("Validating token with RSA public key");
-                return Jwts.parser()
-                        .verifyWith(getPublicKey())
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
-            } else {
-                throw new IllegalStateException("No JWT verification key configured! Set either jwt.publicKey (RSA) or jwt.secret (HMAC)");
-            }
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             log.error("Failed to extract claims from token: {}", e.getMessage());
             throw new InvalidTokenException("Failed to extract token claims");
@@ -71,48 +89,100 @@ public class GatewayTokenValidator {
 
 
     public String getUserId(String token) {
-        return getClaims(token).getSubject();
+        return verify(token).userId();
     }
 
     public String getRole(String token) {
-        return getClaims(token).get("roles", String.class);
+        return verify(token).roles();
     }
 
     public String getEmail(String token) {
-        return getClaims(token).get("email", String.class);
+        return verify(token).email();
     }
 
     public String getTokenType(String token) {
-        return getClaims(token).get("token_type", String.class);
+        return verify(token).tokenType();
     }
 
     public String getJti(String token) {
-        return getClaims(token).getId();
+        return verify(token).jti();
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = getClaims(token).getExpiration();
-            return expiration.before(new Date());
+            return verify(token).isExpired();
         } catch (Exception e) {
             return true;
         }
     }
 
-    private PublicKey getPublicKey() {
+    private GatewayVerifiedToken parse(String token) {
         try {
-            String publicKeyPEM = jwtProperties.getPublicKey()
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s", "");
-
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyPEM);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePublic(spec);
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new GatewayVerifiedToken(
+                    claims.getSubject(),
+                    claims.get("roles", String.class),
+                    claims.get("email", String.class),
+                    claims.getId(),
+                    claims.get("token_type", String.class),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration())
+            );
+        } catch (SignatureException ex) {
+            log.error("Invalid JWT signature: {}", ex.getMessage());
+            throw new InvalidTokenException("Invalid token signature");
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+            throw new InvalidTokenException("Malformed token");
+        } catch (ExpiredJwtException ex) {
+            log.error("JWT token is expired: {}", ex.getMessage());
+            throw new InvalidTokenException("Token expired");
+        } catch (UnsupportedJwtException ex) {
+            log.error("JWT token is unsupported: {}", ex.getMessage());
+            throw new InvalidTokenException("Unsupported token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty: {}", ex.getMessage());
+            throw new InvalidTokenException("Token claims are empty");
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to load RSA public key", e);
+            log.error("Failed to extract claims from token: {}", e.getMessage());
+            throw new InvalidTokenException("Failed to extract token claims");
+        }
+    }
+
+    private class TokenExpiry implements Expiry<String, GatewayVerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, GatewayVerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return Duration.ofMillis(jwtProperties.getAccessTokenExpiration()).toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GatewayVerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, GatewayVerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-}
\ No newline at end of file
+}
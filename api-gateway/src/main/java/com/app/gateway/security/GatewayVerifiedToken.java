@@ -0,0 +1,23 @@
+package com.app.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a bearer token whose signature has already been verified.
+ * Produced once per token by {@link GatewayTokenValidator#verify(String)} and
+ * reused for the blacklist lookup and the forwarded identity headers.
+ */
+public record GatewayVerifiedToken(
+        String userId,
+        String roles,
+        String email,
+        String jti,
+        String tokenType,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
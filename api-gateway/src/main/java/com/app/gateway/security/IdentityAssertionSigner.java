@@ -0,0 +1,91 @@
+package com.app.gateway.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Signs the identity of an authenticated request for the downstream services, which check
+ * the HMAC instead of verifying the bearer token's RSA signature again.
+ * <p>
+ * Format (mirrored by {@code IdentityAssertionVerifier} in common):
+ * {@code base64url(payload) "." base64url(HMAC-SHA256(base64url(payload)))}, the payload
+ * being {@code v1\n<userId>\n<roles>\n<email>\n<expiry epoch seconds>}. The expiry is
+ * {@code identity-assertion-ttl} from now, never later than the token's own.
+ */
+@Slf4j
+@Component
+public class IdentityAssertionSigner {
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public IdentityAssertionSigner(GatewayJwtProperties jwtProperties) {
+        this.ttlSeconds = Math.max(1, jwtProperties.getIdentityAssertionTtl() / 1000);
+
+        String secret = jwtProperties.getIdentityAssertionSecret();
+        if (secret == null || secret.isBlank()) {
+            log.warn("No identity assertion secret configured, services will verify bearer tokens themselves");
+            this.macs = null;
+            return;
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            log.warn("Identity assertion secret is shorter than {} bytes", MIN_SECRET_BYTES);
+        }
+
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return macs != null;
+    }
+
+    /**
+     * @return the assertion header value, or {@code null} when no secret is configured
+     */
+    public String sign(GatewayVerifiedToken token) {
+        if (macs == null) {
+            return null;
+        }
+
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        if (token.expiresAt() != null) {
+            expiresAt = Math.min(expiresAt, token.expiresAt().getEpochSecond());
+        }
+
+        String payload = String.join("\n",
+                VERSION,
+                nullToEmpty(token.userId()),
+                nullToEmpty(token.roles()),
+                nullToEmpty(token.email()),
+                Long.toString(expiresAt));
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] signature = macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        return encodedPayload + "." + ENCODER.encodeToString(signature);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value.replace('\n', ' ') : "";
+    }
+}
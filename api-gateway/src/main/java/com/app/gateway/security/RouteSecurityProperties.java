@@ -0,0 +1,39 @@
+package com.app.gateway.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Data
+@Component
+@ConfigurationProperties(prefix = RouteSecurityProperties.PREFIX)
+public class RouteSecurityProperties {
+
+    public static final String PREFIX = "gateway.security";
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Access {
+        PUBLIC,
+        AUTHENTICATED
+    }
+
+    @Data
+    public static class Rule {
+
+        // Path pattern: literals, '*' for one segment, trailing '**' for any depth
+        private String pattern;
+
+        // HTTP methods the rule applies to; empty means any method
+        private List<String> methods = new ArrayList<>();
+
+        private Access access = Access.AUTHENTICATED;
+
+        // Any one of these roles grants access; empty means any authenticated account
+        private List<String> roles = new ArrayList<>();
+    }
+}
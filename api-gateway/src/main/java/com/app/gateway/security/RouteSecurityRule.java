@@ -0,0 +1,46 @@
+package com.app.gateway.security;
+
+import java.util.List;
+
+/**
+ * Compiled form of a {@link RouteSecurityProperties.Rule}.
+ */
+public record RouteSecurityRule(boolean publicAccess, List<String> requiredRoles) {
+
+    public static final RouteSecurityRule AUTHENTICATED = new RouteSecurityRule(false, List.of());
+
+    /**
+     * @param roles comma-separated roles from the token, e.g. {@code "ROLE_USER,ROLE_ADMIN"}
+     */
+    public boolean isGranted(String roles) {
+        if (requiredRoles.isEmpty()) {
+            return true;
+        }
+        if (roles == null) {
+            return false;
+        }
+        for (String required : requiredRoles) {
+            if (containsRole(roles, required)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsRole(String roles, String role) {
+        int from = 0;
+        while (true) {
+            int index = roles.indexOf(role, from);
+            if (index < 0) {
+                return false;
+            }
+            int end = index + role.length();
+            boolean startsEntry = index == 0 || roles.charAt(index - 1) == ',' || roles.charAt(index - 1) == ' ';
+            boolean endsEntry = end == roles.length() || roles.charAt(end) == ',' || roles.charAt(end) == ' ';
+            if (startsEntry && endsEntry) {
+                return true;
+            }
+            from = index + 1;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.gateway.security;
+
+import com.app.gateway.util.PathPatternTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Access rules for incoming requests, compiled from {@code gateway.security.rules}.
+ * <p>
+ * The most specific path pattern wins; within it a rule naming the request method beats
+ * a rule for any method. Requests that match no rule require authentication. The table
+ * is recompiled when the configuration is refreshed ({@link EnvironmentChangeEvent}).
+ */
+@Slf4j
+@Component
+public class RouteSecurityTable {
+
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"};
+
+    private final Environment environment;
+
+    private volatile PathPatternTrie<MethodRules> rules;
+
+    public RouteSecurityTable(RouteSecurityProperties properties, Environment environment) {
+        this.environment = environment;
+        this.rules = compile(properties);
+    }
+
+    public RouteSecurityRule resolve(HttpMethod method, String path) {
+        MethodRules matched = rules.match(path);
+        if (matched == null) {
+            return RouteSecurityRule.AUTHENTICATED;
+        }
+        RouteSecurityRule rule = matched.forMethod(method.name());
+        return rule != null ? rule : RouteSecurityRule.AUTHENTICATED;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean affected = event.getKeys().stream()
+                .anyMatch(key -> key.startsWith(RouteSecurityProperties.PREFIX));
+        if (!affected) {
+            return;
+        }
+
+        try {
+            RouteSecurityProperties properties = Binder.get(environment)
+                    .bind(RouteSecurityProperties.PREFIX, RouteSecurityProperties.class)
+                    .orElseGet(RouteSecurityProperties::new);
+            rules = compile(properties);
+        } catch (Exception e) {
+            log.error("Invalid route security configuration, keeping the previous rules: {}", e.getMessage());
+        }
+    }
+
+    private PathPatternTrie<MethodRules> compile(RouteSecurityProperties properties) {
+        PathPatternTrie.Builder<MethodRules> builder = PathPatternTrie.builder();
+        Map<String, MethodRules> byPattern = new LinkedHashMap<>();
+
+        for (RouteSecurityProperties.Rule rule : properties.getRules()) {
+            if (rule.getPattern() == null || rule.getPattern().isBlank()) {
+                throw new IllegalArgumentException("Route security rule without a pattern");
+            }
+
+            RouteSecurityRule compiled = new RouteSecurityRule(
+                    rule.getAccess() == RouteSecurityProperties.Access.PUBLIC,
+                    List.copyOf(rule.getRoles()));
+
+            MethodRules methodRules = byPattern.computeIfAbsent(rule.getPattern(), pattern -> new MethodRules());
+            if (rule.getMethods().isEmpty()) {
+                methodRules.anyMethod = compiled;
+            } else {
+                for (String method : rule.getMethods()) {
+                    int index = indexOf(method.toUpperCase(Locale.ROOT));
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Unknown HTTP method '" + method + "' in rule " + rule.getPattern());
+                    }
+                    methodRules.byMethod[index] = compiled;
+                }
+            }
+        }
+
+        byPattern.forEach(builder::add);
+        log.info("Compiled {} route security pattern(s)", byPattern.size());
+        return builder.build();
+    }
+
+    private static int indexOf(String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class MethodRules {
+        private final RouteSecurityRule[] byMethod = new RouteSecurityRule[METHODS.length];
+        private RouteSecurityRule anyMethod;
+
+        RouteSecurityRule forMethod(String method) {
+            int index = indexOf(method);
+            RouteSecurityRule rule = index >= 0 ? byMethod[index] : null;
+            return rule != null ? rule : anyMethod;
+        }
+    }
+}
@@ -1,40 +1,176 @@
 package com.app.gateway.service;
 
-import com.app.gateway.security.GatewayTokenValidator;
-import lombok.RequiredArgsConstructor;
+import com.app.gateway.security.GatewayJwtProperties;
+import com.app.gateway.security.GatewayVerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Per-account revocation epochs, kept locally.
+ * <p>
+ * A token is revoked if it was issued (by {@code iat}, to the second) before its account's
+ * epoch, which auth-service moves on logout, password change and account disable. Epochs are
+ * seeded from the {@code revoke:epoch:*} keys in Redis and kept current by the messages
+ * auth-service publishes on {@link #EPOCH_CHANNEL}. While the subscription is live, lookups
+ * never leave the process. Until it is (startup, Redis outage) lookups fall back to Redis
+ * per request.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class GatewayTokenBlacklist {
-    private static final String BLACKLIST_KEY_PREFIX = "blacklist:";
+    // Value: epoch seconds; tokens of the account issued before it are revoked
+    private static final String EPOCH_KEY_PREFIX = "revoke:epoch:";
+
+    // Message format: "<accountId>:<epoch seconds>"
+    private static final String EPOCH_CHANNEL = "channel:revocation-epoch";
+
+    // Full re-seed interval, covering messages lost while the pub/sub connection was down
+    private static final Duration RESYNC_INTERVAL = Duration.ofMinutes(5);
 
     private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
-    private final GatewayTokenValidator jwtTokenValidator;
 
-    public Mono<Boolean> isBlacklisted(String token) {
-        try {
-            String jti = jwtTokenValidator.getJti(token);
-            String key = BLACKLIST_KEY_PREFIX + jti;
-
-            return reactiveRedisTemplate.hasKey(key)
-                    .doOnSuccess(exists -> {
-                        if (Boolean.TRUE.equals(exists)) {
-                            log.debug("Token is blacklisted: {}", jti);
-                        }
-                    })
-                    .onErrorResume(error -> {
-                        log.error("Error checking blacklist: {}", error.getMessage());
-                        return Mono.just(false);
-                    });
-
-        } catch (Exception e) {
-            log.error("Error extracting JTI from token: {}", e.getMessage());
+    // accountId -> epoch seconds, dropped once every access token it revokes has expired
+    private final Cache<String, Long> epochs;
+
+    private volatile boolean synced;
+    private Disposable subscription;
+
+    public GatewayTokenBlacklist(ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+                                 GatewayJwtProperties jwtProperties) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.epochs = Caffeine.newBuilder()
+                .expireAfter(new EpochExpiry(Duration.ofMillis(jwtProperties.getAccessTokenExpiration())))
+                .build();
+    }
+
+    public Mono<Boolean> isBlacklisted(GatewayVerifiedToken token) {
+        if (token.userId() == null) {
+            return Mono.just(false);
+        }
+        if (revokedByEpoch(token, epochs.getIfPresent(token.userId()))) {
+            log.debug("Token predates revocation epoch of account: {}", token.userId());
+            return Mono.just(true);
+        }
+        if (synced) {
             return Mono.just(false);
         }
+
+        return reactiveRedisTemplate.opsForValue().get(EPOCH_KEY_PREFIX + token.userId())
+                .map(stored -> revokedByEpoch(token, Long.parseLong(stored)))
+                .defaultIfEmpty(false)
+                .doOnSuccess(revoked -> {
+                    if (Boolean.TRUE.equals(revoked)) {
+                        log.debug("Token is revoked: {}", token.jti());
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.error("Error checking blacklist: {}", error.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Deferred: creating the listener container connects eagerly, failures must go through the retry
+        subscription = Mono.defer(() -> reactiveRedisTemplate.listenToChannelLater(EPOCH_CHANNEL))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(messages -> Flux.merge(
+                        messages.doOnNext(message -> applyEpoch(message.getMessage()))
+                                .then(Mono.error(new IllegalStateException("Revocation epoch subscription closed"))),
+                        Flux.interval(Duration.ZERO, RESYNC_INTERVAL)
+                                .concatMap(tick -> seed())
+                ))
+                .doOnError(error -> {
+                    synced = false;
+                    log.warn("Revocation epoch sync interrupted, falling back to Redis lookups: {}", error.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> seed() {
+        return reactiveRedisTemplate.scan(ScanOptions.scanOptions()
+                        .match(EPOCH_KEY_PREFIX + "*")
+                        .count(1000)
+                        .build())
+                .flatMap(key -> reactiveRedisTemplate.opsForValue().get(key)
+                        .map(epoch -> {
+                            epochs.asMap().merge(key.substring(EPOCH_KEY_PREFIX.length()),
+                                    Long.parseLong(epoch), Math::max);
+                            return key;
+                        }), 16)
+                .count()
+                .doOnNext(count -> {
+                    if (!synced) {
+                        log.info("Revocation epochs synced from Redis, {} revoked account(s)", count);
+                    }
+                    synced = true;
+                })
+                .then();
+    }
+
+    private void applyEpoch(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed revocation epoch message: {}", message);
+            return;
+        }
+
+        long epoch;
+        try {
+            epoch = Long.parseLong(message.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation epoch message: {}", message);
+            return;
+        }
+
+        epochs.asMap().merge(message.substring(0, separator), epoch, Math::max);
+    }
+
+    private static boolean revokedByEpoch(GatewayVerifiedToken token, Long epoch) {
+        return epoch != null && token.issuedAt() != null && token.issuedAt().getEpochSecond() < epoch;
+    }
+
+    private record EpochExpiry(Duration accessTokenLifetime) implements Expiry<String, Long> {
+
+        @Override
+        public long expireAfterCreate(String accountId, Long epoch, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), Instant.ofEpochSecond(epoch).plus(accessTokenLifetime));
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String accountId, Long epoch, long currentTime, long currentDuration) {
+            return expireAfterCreate(accountId, epoch, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String accountId, Long epoch, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,173 @@
+package com.app.gateway.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable segment trie over URL path patterns.
+ * <p>
+ * Supported segments: literals, {@code *} (exactly one segment) and a trailing {@code **}
+ * (zero or more segments). When several patterns match, the most specific one wins: at
+ * every level a literal segment beats {@code *}, which beats {@code **}.
+ * <p>
+ * Lookups walk the path in place, without splitting it: they allocate nothing and their cost
+ * follows the path length rather than the number of registered patterns.
+ */
+public final class PathPatternTrie<T> {
+
+    private final Node<T> root;
+
+    private PathPatternTrie(Node<T> root) {
+        this.root = root;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return the value of the most specific matching pattern, or {@code null}
+     */
+    public T match(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        return match(root, path, start);
+    }
+
+    private static <T> T match(Node<T> node, String path, int start) {
+        if (start >= path.length()) {
+            if (node.value != null) {
+                return node.value;
+            }
+            return node.anyDepthValue;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int next = end + 1;
+
+        if (end > start) {
+            int length = end - start;
+            for (int i = 0; i < node.literalKeys.length; i++) {
+                String key = node.literalKeys[i];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    T found = match(node.literalNodes[i], path, next);
+                    if (found != null) {
+                        return found;
+                    }
+                    break;
+                }
+            }
+
+            if (node.wildcard != null) {
+                T found = match(node.wildcard, path, next);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else {
+            // Empty segment ("//" or trailing "/"): skip it
+            T found = match(node, path, next);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        return node.anyDepthValue;
+    }
+
+    private static final class Node<T> {
+        private final String[] literalKeys;
+        private final Node<T>[] literalNodes;
+        private final Node<T> wildcard;
+        private final T value;
+        private final T anyDepthValue;
+
+        private Node(String[] literalKeys, Node<T>[] literalNodes, Node<T> wildcard, T value, T anyDepthValue) {
+            this.literalKeys = literalKeys;
+            this.literalNodes = literalNodes;
+            this.wildcard = wildcard;
+            this.value = value;
+            this.anyDepthValue = anyDepthValue;
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final MutableNode<T> root = new MutableNode<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a pattern. Registering the same pattern twice keeps the last value.
+         */
+        public Builder<T> add(String pattern, T value) {
+            String[] segments = Arrays.stream(pattern.split("/"))
+                    .filter(segment -> !segment.isEmpty())
+                    .toArray(String[]::new);
+
+            MutableNode<T> node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                    }
+                    node.anyDepthValue = value;
+                    return this;
+                }
+                node = segment.equals("*") ? node.wildcard() : node.literal(segment);
+            }
+            node.value = value;
+            return this;
+        }
+
+        public PathPatternTrie<T> build() {
+            return new PathPatternTrie<>(root.freeze());
+        }
+    }
+
+    private static final class MutableNode<T> {
+        private final List<String> literalKeys = new ArrayList<>();
+        private final List<MutableNode<T>> literalNodes = new ArrayList<>();
+        private MutableNode<T> wildcard;
+        private T value;
+        private T anyDepthValue;
+
+        MutableNode<T> literal(String key) {
+            int index = literalKeys.indexOf(key);
+            if (index >= 0) {
+                return literalNodes.get(index);
+            }
+            MutableNode<T> child = new MutableNode<>();
+            literalKeys.add(key);
+            literalNodes.add(child);
+            return child;
+        }
+
+        MutableNode<T> wildcard() {
+            if (wildcard == null) {
+                wildcard = new MutableNode<>();
+            }
+            return wildcard;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> freeze() {
+            Node<T>[] children = new Node[literalNodes.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = literalNodes.get(i).freeze();
+            }
+            return new Node<>(
+                    literalKeys.toArray(new String[0]),
+                    children,
+                    wildcard != null ? wildcard.freeze() : null,
+                    value,
+                    anyDepthValue
+            );
+        }
+    }
+}
@@ -0,0 +1,39 @@
+-- Token bucket, one hash per bucket: { tokens, ts }
+-- KEYS[1] bucket key
+-- ARGV[1] capacity, ARGV[2] refill rate in tokens per millisecond, ARGV[3] tokens requested
+-- Returns { allowed (0/1), tokens remaining, ms until a retry can succeed, ms until the bucket is full }
+
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- Server clock, so every gateway instance refills the bucket the same way
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+
+local allowed = 0
+local retry_after = 0
+if tokens >= requested then
+    tokens = tokens - requested
+    allowed = 1
+else
+    retry_after = math.ceil((requested - tokens) / refill_per_ms)
+end
+
+local until_full = math.ceil((capacity - tokens) / refill_per_ms)
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', key, math.max(until_full, 1000))
+
+return { allowed, math.floor(tokens), retry_after, until_full }
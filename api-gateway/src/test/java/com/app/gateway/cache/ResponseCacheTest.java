@@ -0,0 +1,69 @@
+package com.app.gateway.cache;
+
+import com.app.gateway.config.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+	private final ResponseCache cache = new ResponseCache(properties(), new MockEnvironment());
+
+	@Test
+	void keyIgnoresQueryParameterOrder() {
+		assertThat(ResponseCache.keyFor("/api/courses", "size=10&page=2"))
+				.isEqualTo(ResponseCache.keyFor("/api/courses", "page=2&size=10"));
+		assertThat(ResponseCache.keyFor("/api/courses", null)).isEqualTo("/api/courses");
+		assertThat(ResponseCache.keyFor("/api/courses", "page=1"))
+				.isNotEqualTo(ResponseCache.keyFor("/api/courses", "page=2"));
+	}
+
+	@Test
+	void storesOnlyRepresentationHeadersAndDerivesEtag() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.set("Access-Control-Allow-Origin", "http://localhost:3000");
+		headers.set("X-RateLimit-Remaining", "42");
+
+		ResponseCacheProperties.Route route = cache.resolve("/api/courses/intro");
+		CachedResponse entry = cache.store("/api/courses/intro", route, headers, "{}".getBytes());
+
+		assertThat(entry.headers().keySet()).containsExactly(HttpHeaders.CONTENT_TYPE);
+		assertThat(entry.etag()).startsWith("\"").endsWith("\"");
+		assertThat(entry.isFresh(Instant.now())).isTrue();
+		assertThat(ResponseCache.matchesEtag("W/" + entry.etag() + ", \"other\"", entry.etag())).isTrue();
+		assertThat(ResponseCache.matchesEtag("\"other\"", entry.etag())).isFalse();
+	}
+
+	@Test
+	void concurrentMissesShareOneFetch() {
+		ResponseCache.Flight leader = cache.begin("/api/courses");
+		ResponseCache.Flight follower = cache.begin("/api/courses");
+
+		assertThat(leader.leader()).isTrue();
+		assertThat(follower.leader()).isFalse();
+
+		CachedResponse entry = cache.store("/api/courses", cache.resolve("/api/courses"), new HttpHeaders(), new byte[0]);
+		cache.complete(leader, entry);
+
+		assertThat(follower.result().block(Duration.ofSeconds(1))).isSameAs(entry);
+		assertThat(cache.begin("/api/courses").leader()).isTrue();
+	}
+
+	private static ResponseCacheProperties properties() {
+		ResponseCacheProperties.Route route = new ResponseCacheProperties.Route();
+		route.setPattern("/api/courses/**");
+		route.setTtl(Duration.ofSeconds(30));
+
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setRoutes(List.of(route));
+		return properties;
+	}
+}
@@ -0,0 +1,91 @@
+package com.app.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetedRetryGatewayFilterFactoryTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final BudgetedRetryGatewayFilterFactory factory = new BudgetedRetryGatewayFilterFactory(meterRegistry);
+
+	@Test
+	void retriesIdempotentRequestsOnRetryableStatus() {
+		GatewayFilter filter = factory.apply("blog-service", this::noDelay);
+		AtomicInteger calls = new AtomicInteger();
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/blogs/posts"));
+		filter.filter(exchange, respondWith(HttpStatus.SERVICE_UNAVAILABLE, calls)).block();
+
+		assertThat(calls).hasValue(3);
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(meterRegistry.counter("gateway.retry.attempts", "routeId", "blog-service").count()).isEqualTo(2);
+	}
+
+	@Test
+	void retriesPostOnlyWithIdempotencyKey() {
+		GatewayFilter filter = factory.apply("auth-service", this::noDelay);
+
+		AtomicInteger plain = new AtomicInteger();
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/auth/register")),
+				respondWith(HttpStatus.BAD_GATEWAY, plain)).block();
+		assertThat(plain).hasValue(1);
+
+		AtomicInteger keyed = new AtomicInteger();
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/auth/register")
+						.header(BudgetedRetryGatewayFilterFactory.IDEMPOTENCY_KEY_HEADER, "abc")),
+				respondWith(HttpStatus.BAD_GATEWAY, keyed)).block();
+		assertThat(keyed).hasValue(3);
+	}
+
+	@Test
+	void stopsRetryingWhenTheBudgetIsSpent() {
+		GatewayFilter filter = factory.apply("course-service", config -> {
+			noDelay(config);
+			config.setBudgetRatio(0.0);
+			config.setMinRetriesPerSecond(0);
+		});
+		AtomicInteger calls = new AtomicInteger();
+
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/courses")),
+				respondWith(HttpStatus.GATEWAY_TIMEOUT, calls)).block();
+
+		assertThat(calls).hasValue(1);
+		assertThat(meterRegistry.counter("gateway.retry.budget.exhausted", "routeId", "course-service").count()).isEqualTo(1);
+	}
+
+	@Test
+	void backoffGrowsExponentiallyWithinJitterAndCap() {
+		BudgetedRetryGatewayFilterFactory.Config config = new BudgetedRetryGatewayFilterFactory.Config();
+		config.setFirstBackoff(Duration.ofMillis(100));
+		config.setMaxBackoff(Duration.ofMillis(300));
+		config.setJitter(0.5);
+
+		assertThat(BudgetedRetryGatewayFilterFactory.backoff(config, 0)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+		assertThat(BudgetedRetryGatewayFilterFactory.backoff(config, 1)).isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+		assertThat(BudgetedRetryGatewayFilterFactory.backoff(config, 5)).isBetween(Duration.ofMillis(150), Duration.ofMillis(300));
+	}
+
+	private void noDelay(BudgetedRetryGatewayFilterFactory.Config config) {
+		config.setFirstBackoff(Duration.ZERO);
+		config.setMaxBackoff(Duration.ZERO);
+	}
+
+	private static GatewayFilterChain respondWith(HttpStatus status, AtomicInteger calls) {
+		return exchange -> {
+			calls.incrementAndGet();
+			exchange.getResponse().setStatusCode(status);
+			return Mono.empty();
+		};
+	}
+}
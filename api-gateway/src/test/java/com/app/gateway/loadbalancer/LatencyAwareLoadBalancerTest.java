@@ -0,0 +1,94 @@
+package com.app.gateway.loadbalancer;
+
+import com.app.gateway.config.LoadBalancingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyAwareLoadBalancerTest {
+
+	// Eureka reports the app name upper-case, while the route and balancer use the lower-case id
+	private final ServiceInstance fast = new DefaultServiceInstance("fast", "BLOG-SERVICE", "10.0.0.1", 8080, false);
+	private final ServiceInstance slow = new DefaultServiceInstance("slow", "BLOG-SERVICE", "10.0.0.2", 8080, false);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final LoadBalancerStats stats = new LoadBalancerStats(new LoadBalancingProperties(), meterRegistry);
+	private final LatencyAwareLoadBalancer loadBalancer = loadBalancer(List.of(fast, slow));
+
+	@Test
+	void prefersTheInstanceWithLowerLatency() {
+		stats.get(fast).onStart();
+		stats.get(fast).onSuccess(Duration.ofMillis(5).toNanos());
+		stats.get(slow).onStart();
+		stats.get(slow).onSuccess(Duration.ofSeconds(2).toNanos());
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(choose()).isEqualTo("fast");
+		}
+	}
+
+	@Test
+	void ejectsAfterConsecutiveFailuresWithinMaxEjectionPercent() {
+		choose();
+		for (int i = 0; i < 5; i++) {
+			stats.get(slow).onStart();
+			stats.get(slow).onFailure(Duration.ofMillis(1).toNanos());
+		}
+		stats.get(fast).onStart();
+		stats.get(fast).onSuccess(Duration.ofSeconds(5).toNanos());
+
+		assertThat(stats.get(slow).isEjected(System.nanoTime())).isTrue();
+		for (int i = 0; i < 20; i++) {
+			assertThat(choose()).isEqualTo("fast");
+		}
+
+		// Ejecting the remaining instance would exceed max-ejection-percent
+		for (int i = 0; i < 5; i++) {
+			stats.get(fast).onStart();
+			stats.get(fast).onFailure(Duration.ofMillis(1).toNanos());
+		}
+		assertThat(stats.get(fast).isEjected(System.nanoTime())).isFalse();
+	}
+
+	@Test
+	void dropsStatsOfInstancesThatLeft() {
+		choose();
+		assertThat(meterRegistry.find("gateway.loadbalancer.selections").tag("instance", "slow").counter()).isNotNull();
+
+		loadBalancer(List.of(fast)).choose(new DefaultRequest<>()).block();
+
+		assertThat(meterRegistry.find("gateway.loadbalancer.selections").tag("instance", "slow").counter()).isNull();
+		assertThat(meterRegistry.find("gateway.loadbalancer.selections").tag("instance", "fast").counter()).isNotNull();
+	}
+
+	private String choose() {
+		return loadBalancer.choose(new DefaultRequest<>()).block().getServer().getInstanceId();
+	}
+
+	private LatencyAwareLoadBalancer loadBalancer(List<ServiceInstance> instances) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("supplier", new ServiceInstanceListSupplier() {
+			@Override
+			public String getServiceId() {
+				return "blog-service";
+			}
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				return Flux.just(instances);
+			}
+		});
+		return new LatencyAwareLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class),
+				"blog-service", stats);
+	}
+}
@@ -0,0 +1,66 @@
+package com.app.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityAssertionSignerTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	@Test
+	void signsPayloadWithSharedSecret() throws Exception {
+		Instant expiresAt = Instant.now().plusSeconds(3600);
+		String assertion = signer(SECRET).sign(token(expiresAt));
+
+		String[] parts = assertion.split("\\.");
+		assertThat(parts).hasSize(2);
+
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		byte[] expected = mac.doFinal(parts[0].getBytes(StandardCharsets.US_ASCII));
+		assertThat(Base64.getUrlDecoder().decode(parts[1])).isEqualTo(expected);
+
+		String[] fields = payload(parts[0]);
+		assertThat(fields).startsWith("v1", "42", "ROLE_USER,ROLE_ADMIN", "user@example.com");
+		long expiry = Long.parseLong(fields[4]);
+		assertThat(expiry).isBetween(Instant.now().getEpochSecond() + 25, Instant.now().getEpochSecond() + 30);
+	}
+
+	@Test
+	void neverOutlivesTheToken() {
+		Instant expiresAt = Instant.now().plusSeconds(5);
+		String assertion = signer(SECRET).sign(token(expiresAt));
+
+		assertThat(payload(assertion.split("\\.")[0])[4]).isEqualTo(Long.toString(expiresAt.getEpochSecond()));
+	}
+
+	@Test
+	void disabledWithoutSecret() {
+		IdentityAssertionSigner signer = signer(null);
+
+		assertThat(signer.isEnabled()).isFalse();
+		assertThat(signer.sign(token(Instant.now().plusSeconds(60)))).isNull();
+	}
+
+	private static IdentityAssertionSigner signer(String secret) {
+		GatewayJwtProperties properties = new GatewayJwtProperties();
+		properties.setIdentityAssertionSecret(secret);
+		return new IdentityAssertionSigner(properties);
+	}
+
+	private static GatewayVerifiedToken token(Instant expiresAt) {
+		return new GatewayVerifiedToken("42", "ROLE_USER,ROLE_ADMIN", "user@example.com", "jti", "access",
+				Instant.now(), expiresAt);
+	}
+
+	private static String[] payload(String encoded) {
+		return new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\n", -1);
+	}
+}
@@ -0,0 +1,46 @@
+package com.app.gateway.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathPatternTrieTest {
+
+	private final PathPatternTrie<String> trie = PathPatternTrie.<String>builder()
+			.add("/auth/login/**", "login")
+			.add("/api/blogs/posts/**", "posts")
+			.add("/api/blogs/posts/my-posts", "my-posts")
+			.add("/api/blogs/posts/*/approve", "approve")
+			.add("/api/courses", "courses")
+			.build();
+
+	@Test
+	void trailingDoubleWildcardMatchesZeroOrMoreSegments() {
+		assertThat(trie.match("/auth/login")).isEqualTo("login");
+		assertThat(trie.match("/auth/login/")).isEqualTo("login");
+		assertThat(trie.match("/auth/login/extra/path")).isEqualTo("login");
+	}
+
+	@Test
+	void mostSpecificPatternWins() {
+		assertThat(trie.match("/api/blogs/posts/my-posts")).isEqualTo("my-posts");
+		assertThat(trie.match("/api/blogs/posts/42/approve")).isEqualTo("approve");
+		assertThat(trie.match("/api/blogs/posts/42")).isEqualTo("posts");
+		assertThat(trie.match("/api/blogs/posts/my-posts/extra")).isEqualTo("posts");
+	}
+
+	@Test
+	void literalPatternsDoNotMatchPrefixes() {
+		assertThat(trie.match("/api/courses")).isEqualTo("courses");
+		assertThat(trie.match("/api/courses/java")).isNull();
+		assertThat(trie.match("/auth/loginx")).isNull();
+		assertThat(trie.match("/")).isNull();
+	}
+
+	@Test
+	void doubleWildcardOnlyAllowedAtTheEnd() {
+		assertThatThrownBy(() -> PathPatternTrie.<String>builder().add("/api/**/posts", "x"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
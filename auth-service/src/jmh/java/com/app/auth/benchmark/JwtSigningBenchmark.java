@@ -0,0 +1,98 @@
+package com.app.auth.benchmark;
+
+import com.app.auth.constant.Role;
+import com.app.auth.entity.Account;
+import com.app.auth.service.impl.JwtKeyServiceImpl;
+import com.app.auth.service.impl.JwtTokenGeneratorImpl;
+import com.app.common.security.JwtKeyRegistry;
+import com.app.common.security.JwtProperties;
+import com.app.common.security.JwtSignatureAlgorithm;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification throughput per {@code jwt.algorithm}, through the same
+ * {@link JwtTokenGeneratorImpl} and {@link JwtKeyRegistry} the services use.
+ * <p>
+ * {@code sign} is what login, refresh and every {@code /oauth/token} call pay;
+ * {@code verify} is the uncached signature check a service or the gateway pays on a token it
+ * has not seen yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    private JwtSignatureAlgorithm algorithm;
+
+    private JwtTokenGeneratorImpl generator;
+    private JwtKeyRegistry keyRegistry;
+    private JwtParser parser;
+    private Account account;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.OFF);
+
+        KeyPair keyPair = algorithm.generateKeyPair();
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setAlgorithm(algorithm);
+        jwtProperties.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        jwtProperties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        generator = new JwtTokenGeneratorImpl(jwtProperties, new JwtKeyServiceImpl(jwtProperties));
+        keyRegistry = new JwtKeyRegistry(jwtProperties);
+        keyRegistry.init();
+        parser = Jwts.parser().keyLocator(keyRegistry).build();
+
+        account = Account.builder()
+                .id("42")
+                .username("bench")
+                .email("bench@example.com")
+                .password("unused")
+                .roles(Set.of(Role.USER))
+                .build();
+        token = generator.generateAccessToken(account);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        keyRegistry.shutdown();
+    }
+
+    @Benchmark
+    public String sign() {
+        return generator.generateAccessToken(account);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -2,10 +2,10 @@ package com.app.auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
@@ -15,8 +15,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableDiscoveryClient
 @EnableFeignClients
 @EnableScheduling
-@EnableJpaRepositories(basePackages = "com.app.auth.repository")
-@EnableRedisRepositories(basePackages = "com.app.auth.repository")
+@EntityScan(basePackages = {"com.app.auth.entity", "com.app.common.outbox"})
+@EnableJpaRepositories(basePackages = {"com.app.auth.repository", "com.app.common.outbox"})
 public class AuthServiceApplication {
 
 	public static void main(String[] args) {
@@ -4,9 +4,12 @@ import com.app.common.feign.OAuth2FeignRequestInterceptor;
 import feign.RequestInterceptor;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,8 +24,10 @@ public class UserServiceFeignConfig {
     private final RetryRegistry retryRegistry;
 
     @Bean
-    public RequestInterceptor userServiceRequestInterceptor() {
-        return new OAuth2FeignRequestInterceptor(tokenProvider, "user-service");
+    public RequestInterceptor userServiceRequestInterceptor(ObjectProvider<Tracer> tracer,
+                                                            ObjectProvider<Propagator> propagator) {
+        return new OAuth2FeignRequestInterceptor(tokenProvider, "user-service",
+                tracer.getIfAvailable(), propagator.getIfAvailable());
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.app.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code app.login-throttle.*}: failed-login limits per account and per source address
+ * (see {@code LoginThrottleServiceImpl}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+
+    // Failures older than this no longer count
+    private Duration window = Duration.ofMinutes(15);
+
+    private Duration lockoutDuration = Duration.ofMinutes(15);
+
+    // Delay after the first failure past the free ones; doubles with every further failure
+    private Duration baseDelay = Duration.ofSeconds(1);
+
+    private Duration maxDelay = Duration.ofSeconds(60);
+
+    private Limits account = new Limits(3, 10);
+
+    // Wider, since many users can share an address (NAT, offices)
+    private Limits source = new Limits(10, 100);
+
+    // Proxies in front of auth-service whose X-Forwarded-For entry is trusted (1 = the gateway, 0 = socket address)
+    private int trustedProxies = 1;
+
+    @Data
+    public static class Limits {
+
+        // Failures in the window allowed without any delay
+        private int freeFailures;
+
+        // Failures in the window that lock the scope out for lockout-duration
+        private int lockoutFailures;
+
+        public Limits() {
+        }
+
+        public Limits(int freeFailures, int lockoutFailures) {
+            this.freeFailures = freeFailures;
+            this.lockoutFailures = lockoutFailures;
+        }
+    }
+}
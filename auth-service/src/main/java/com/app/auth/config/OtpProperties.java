@@ -0,0 +1,44 @@
+package com.app.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code app.otp.*}: one-time code lifetime and limits, and the batched audit trail
+ * (see {@code OtpServiceImpl} and {@code OtpAuditRecorder}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.otp")
+public class OtpProperties {
+
+    private int length = 6;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // Wrong guesses that burn the current code
+    private int maxAttempts = 5;
+
+    // Resends allowed per address within resend-window
+    private int resendLimit = 3;
+
+    private Duration resendWindow = Duration.ofMinutes(15);
+
+    private Audit audit = new Audit();
+
+    @Data
+    public static class Audit {
+
+        private boolean enabled = true;
+
+        private int batchSize = 100;
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        // Records waiting to be written; further ones are dropped and counted
+        private int queueCapacity = 10_000;
+    }
+}
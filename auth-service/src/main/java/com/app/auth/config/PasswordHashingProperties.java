@@ -0,0 +1,32 @@
+package com.app.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code app.password-hashing.*}: how passwords and client secrets are hashed, and how much
+ * hashing work the service accepts at once (see {@code PasswordHashingServiceImpl}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+
+    // Encoder for new hashes: bcrypt or pbkdf2. Hashes made with another one are upgraded on login
+    private String algorithm = "bcrypt";
+
+    // BCrypt log rounds; raising it upgrades existing hashes on their next successful login
+    private int bcryptStrength = 10;
+
+    // Hashing threads; 0 = one per available processor
+    private int threads = 0;
+
+    // Hash requests allowed to wait for a thread; beyond that callers get a 503
+    private int queueCapacity = 32;
+
+    // Longest a caller waits for its hash before giving up with a 503
+    private Duration maxWait = Duration.ofSeconds(5);
+}
@@ -1,5 +1,5 @@
 package com.app.auth.constant;
 
 public enum AccountStatus {
-    ACTIVE, PENDING_VERIFICATION
+    ACTIVE, PENDING_VERIFICATION, DISABLED
 }
@@ -0,0 +1,5 @@
+package com.app.auth.constant;
+
+public enum OtpAuditType {
+    ISSUED, RESEND_LIMITED, VERIFIED, FAILED, EXHAUSTED
+}
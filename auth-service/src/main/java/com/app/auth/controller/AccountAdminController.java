@@ -0,0 +1,31 @@
+package com.app.auth.controller;
+
+import com.app.auth.service.AuthService;
+import com.app.common.dto.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Account moderation for support. Disabling an account also revokes every token it holds.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/auth/admin/accounts")
+@RequiredArgsConstructor
+public class AccountAdminController {
+
+    private final AuthService authService;
+
+    @PostMapping("/{accountId}/disable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> disable(@PathVariable String accountId) {
+        log.info("Disable request for account: {}", accountId);
+
+        authService.disableAccount(accountId);
+
+        return ResponseEntity.ok(ApiResponse.success("Account disabled"));
+    }
+}
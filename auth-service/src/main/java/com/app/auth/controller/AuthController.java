@@ -2,10 +2,12 @@ package com.app.auth.controller;
 
 import com.app.auth.dto.*;
 import com.app.auth.service.AuthService;
+import com.app.auth.util.ClientAddressResolver;
 import com.app.common.constant.SecurityConstants;
 import com.app.common.dto.response.ApiResponse;
 import com.app.common.exception.UnauthorizedException;
 import com.app.common.util.CurrentAccount;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final ClientAddressResolver clientAddressResolver;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<RegisterResponse>> register(
@@ -37,9 +40,10 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<LoginResponse>> login(
-            @Valid @RequestBody LoginRequest request) {
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
 
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, clientAddressResolver.resolve(httpRequest));
 
         return getApiResponseResponseEntity(response);
     }
@@ -85,22 +89,35 @@ public class AuthController {
     }
 
 
+    /**
+     * Signs the account out everywhere: every access and refresh token issued so far is revoked.
+     */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(
-            @RequestHeader(SecurityConstants.JWT_HEADER) String authHeader,
-            @CurrentAccount String accountId) {
+    public ResponseEntity<ApiResponse<Void>> logout(@CurrentAccount String accountId) {
 
         log.info("Logout request for account: {}", accountId);
 
-        String token = authHeader.replace(SecurityConstants.JWT_PREFIX, "");
-
-        authService.logout(token, accountId);
+        authService.logout(accountId);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Logout successful")
         );
     }
 
+    @PostMapping("/change-password")
+    public ResponseEntity<ApiResponse<Void>> changePassword(
+            @Valid @RequestBody ChangePasswordRequest request,
+            @CurrentAccount String accountId) {
+
+        log.info("Password change request for account: {}", accountId);
+
+        authService.changePassword(accountId, request);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Password changed. Please log in again.")
+        );
+    }
+
     private ResponseEntity<ApiResponse<LoginResponse>> getApiResponseResponseEntity(LoginResponse response) {
         ResponseCookie refreshCookie = ResponseCookie.from("refresh", response.getRefreshToken())
                 .httpOnly(true)
@@ -0,0 +1,50 @@
+package com.app.auth.controller;
+
+import com.app.auth.dto.LoginThrottleStatus;
+import com.app.auth.service.LoginThrottleService;
+import com.app.common.dto.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Failed-login throttle state for support: how many failures an account or address has,
+ * whether it is locked out, and a way to lift the throttle early.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/auth/admin/login-throttle")
+@RequiredArgsConstructor
+public class LoginThrottleAdminController {
+
+    private final LoginThrottleService loginThrottleService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LoginThrottleStatus>> getStatus(
+            @RequestParam(required = false) String account,
+            @RequestParam(required = false) String ip) {
+
+        requireScope(account, ip);
+        return ResponseEntity.ok(ApiResponse.success(loginThrottleService.getStatus(account, ip)));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> clear(
+            @RequestParam(required = false) String account,
+            @RequestParam(required = false) String ip) {
+
+        requireScope(account, ip);
+        loginThrottleService.clear(account, ip);
+        return ResponseEntity.ok(ApiResponse.success("Login throttle cleared"));
+    }
+
+    private static void requireScope(String account, String ip) {
+        if (account == null && ip == null) {
+            throw new IllegalArgumentException("Either account or ip is required");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginThrottleStatus {
+
+    private List<Scope> scopes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scope {
+
+        // "account" or "source"
+        private String type;
+
+        private String value;
+
+        // Failed logins within the window
+        private Long failures;
+
+        // Seconds until the next attempt is accepted; 0 = now
+        private Long retryAfterSeconds;
+
+        private Boolean lockedOut;
+    }
+}
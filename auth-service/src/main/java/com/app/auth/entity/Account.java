@@ -63,11 +63,21 @@ public class Account extends BaseEntity {
         return status == AccountStatus.PENDING_VERIFICATION;
     }
 
+    /**
+     * Marks the email verified and the account active; a disabled account stays disabled.
+     */
     public void activate() {
+        if (status == AccountStatus.DISABLED) {
+            throw new IllegalStateException("Account is disabled");
+        }
         this.status = AccountStatus.ACTIVE;
         this.emailVerified = true;
     }
 
+    public void disable() {
+        this.status = AccountStatus.DISABLED;
+    }
+
     public void addRole(Role role) {
         this.roles.add(role);
     }
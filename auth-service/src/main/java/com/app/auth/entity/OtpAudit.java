@@ -0,0 +1,37 @@
+package com.app.auth.entity;
+
+import com.app.auth.constant.OtpAuditType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * What happened to a one-time code, written in batches after the fact. Codes themselves live
+ * only in Redis.
+ */
+@Entity
+@Table(name = "otp_audit", indexes = @Index(name = "idx_otp_audit_email", columnList = "email"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OtpAuditType type;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
@@ -1,41 +0,0 @@
-package com.app.auth.entity;
-
-import com.app.common.util.BaseEntity;
-import jakarta.persistence.*;
-import lombok.*;
-import lombok.NoArgsConstructor;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "otp_codes")
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class OtpCode extends BaseEntity {
-    @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
-
-    @Column(nullable = false)
-    private String email;
-
-    @Column(nullable = false, length = 6)
-    private String code;
-
-    @Column(nullable = false)
-    @Builder.Default
-    private Boolean verified = false;
-
-    @Column(name = "expires_at", nullable = false)
-    private Instant expiresAt;
-
-    public boolean isExpired() {
-        return Instant.now().isAfter(expiresAt);
-    }
-
-    public boolean isValid() {
-        return !isExpired() && !verified;
-    }
-}
@@ -4,10 +4,13 @@ import com.app.auth.entity.Account;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
@@ -21,4 +24,16 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     Optional<Account> findByUsernameOrEmail(@Param("value") String value);
 
     Optional<Account> findByEmail(String email);
+
+    /**
+     * Replaces the stored hash in a transaction of its own, without loading the account.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Account a SET a.password = :password, a.updatedAt = :updatedAt WHERE a.id = :id")
+    int updatePassword(@Param("id") String id, @Param("password") String password, @Param("updatedAt") Instant updatedAt);
+
+    default int updatePassword(String id, String password) {
+        return updatePassword(id, password, Instant.now());
+    }
 }
@@ -0,0 +1,7 @@
+package com.app.auth.repository;
+
+import com.app.auth.entity.OtpAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OtpAuditRepository extends JpaRepository<OtpAudit, String> {
+}
@@ -1,23 +0,0 @@
-package com.app.auth.repository;
-
-import com.app.auth.entity.OtpCode;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-
-import java.time.Instant;
-import java.util.Optional;
-
-public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
-
-    Optional<OtpCode> findByEmailAndCodeAndVerifiedFalse(String email, String code);
-
-    Optional<OtpCode> findFirstByEmailOrderByCreatedAtDesc(String email);
-
-    void deleteByEmail(String email);
-
-    @Modifying
-    @Query("DELETE FROM OtpCode o WHERE o.expiresAt < :now")
-    void deleteExpiredOtps(Instant now);
-
-}
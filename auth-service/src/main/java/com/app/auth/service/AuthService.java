@@ -6,7 +6,7 @@ public interface AuthService {
 
     RegisterResponse register(RegisterRequest registerRequest);
 
-    LoginResponse login(LoginRequest loginRequest);
+    LoginResponse login(LoginRequest loginRequest, String sourceAddress);
 
     LoginResponse verifyOtp(VerifyOtpRequest request);
 
@@ -14,6 +14,10 @@ public interface AuthService {
 
     LoginResponse refresh(String request);
 
-    void logout(String accessToken, String accountId);
+    void logout(String accountId);
+
+    void changePassword(String accountId, ChangePasswordRequest request);
+
+    void disableAccount(String accountId);
 
 }
@@ -0,0 +1,26 @@
+package com.app.auth.service;
+
+import com.app.common.security.JwtSignatureAlgorithm;
+
+import java.security.PrivateKey;
+import java.util.Map;
+
+
+public interface JwtKeyService {
+
+    SigningKey getSigningKey();
+
+    String getKeyId();
+
+    /**
+     * Public JWK Set (RFC 7517) with the active key and any previous keys still in use.
+     */
+    Map<String, Object> getJwkSet();
+
+    /**
+     * The parsed private key together with the {@code kid} and algorithm it signs with.
+     */
+    record SigningKey(String keyId, JwtSignatureAlgorithm algorithm, PrivateKey privateKey) {
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.app.auth.service;
+
+import com.app.auth.dto.LoginThrottleStatus;
+
+
+public interface LoginThrottleService {
+
+    /**
+     * Rejects the attempt before any lookup or hashing if the account or the source address
+     * is delayed or locked out; otherwise reserves it a slot in both failure windows, so
+     * attempts running in parallel are counted before any of them finishes. Every allowed
+     * attempt must end in {@link #recordFailure}, {@link #recordSuccess} or {@link #release}.
+     *
+     * @throws com.app.common.exception.TooManyRequestsException if the attempt has to wait
+     */
+    Attempt checkAllowed(String account, String sourceAddress);
+
+    /**
+     * Keeps the attempt's reservations as failures and starts a lockout once one is due.
+     */
+    void recordFailure(Attempt attempt);
+
+    /**
+     * Clears the account's failures; the source address only gets the attempt's slot back.
+     */
+    void recordSuccess(Attempt attempt);
+
+    /**
+     * Gives the attempt's slots back when it ended without the password being checked.
+     */
+    void release(Attempt attempt);
+
+    LoginThrottleStatus getStatus(String account, String sourceAddress);
+
+    void clear(String account, String sourceAddress);
+
+    /**
+     * An allowed login attempt and the id of the slots it reserved.
+     */
+    record Attempt(String account, String sourceAddress, String id) {
+    }
+}
@@ -2,13 +2,20 @@ package com.app.auth.service;
 
 public interface OtpService {
 
+    /**
+     * Issues a new code for the address, replacing any previous one.
+     */
     String generateOtp(String email);
 
-    boolean validateOtp(String email, String otp);
-
-    void cleanupExpiredOtps();
+    /**
+     * Like {@link #generateOtp}, but counted against the address's resend limit.
+     *
+     * @throws com.app.common.exception.TooManyRequestsException when the limit is used up
+     */
+    String regenerateOtp(String email);
 
-    boolean canRequestOtp(String email);
-
-    void incrementOtpRequest(String email);
+    /**
+     * Checks the code and consumes it on a match; the code is burned after too many wrong guesses.
+     */
+    boolean validateOtp(String email, String otp);
 }
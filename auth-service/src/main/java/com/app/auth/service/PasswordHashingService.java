@@ -0,0 +1,18 @@
+package com.app.auth.service;
+
+import java.util.Optional;
+
+
+public interface PasswordHashingService {
+
+    String encode(CharSequence rawPassword);
+
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * A fresh hash of a password that just matched, if its stored hash uses an older
+     * algorithm or a lower cost than configured.
+     */
+    Optional<String> rehashIfNeeded(CharSequence rawPassword, String encodedPassword);
+
+}
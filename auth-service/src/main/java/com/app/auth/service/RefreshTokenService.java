@@ -6,9 +6,19 @@ public interface RefreshTokenService {
 
     String createRefreshToken(Account account, String deviceId);
 
-    String verifyRefreshToken(String rawToken);
+    /**
+     * Verifies a refresh token and replaces it with the next token of its family. Presenting
+     * a token that was already rotated revokes the whole family.
+     */
+    RotatedToken rotateRefreshToken(String rawToken);
 
     void revokeRefreshToken(String rawToken);
 
-    void revokeAllUserTokens(String accountId);
+    void revokeAllTokens(String accountId);
+
+    /**
+     * The account a rotated token belongs to and the token that replaces it.
+     */
+    record RotatedToken(String accountId, String refreshToken) {
+    }
 }
@@ -2,9 +2,9 @@ package com.app.auth.service;
 
 public interface TokenBlacklistService {
 
-    void blacklistToken(String token);
-
-    boolean isBlacklisted(String token);
-
-    void removeFromBlacklist(String jti);
+    /**
+     * Revokes every access token issued to the account so far with one epoch write, however
+     * many tokens it holds.
+     */
+    void revokeAllTokens(String accountId);
 }
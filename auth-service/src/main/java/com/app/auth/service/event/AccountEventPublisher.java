@@ -3,17 +3,25 @@ package com.app.auth.service.event;
 import com.app.auth.entity.Account;
 import com.app.common.constant.KafkaTopics;
 import com.app.common.event.AccountVerifiedEvent;
+import com.app.common.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes account events keyed by account id. With the outbox enabled the event is written
+ * in the caller's transaction and sent by the relay; otherwise it goes to Kafka directly and a
+ * failed send is only logged.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountEventPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectProvider<OutboxPublisher> outboxPublisher;
 
     public void publishAccountVerifiedEvent(Account account) {
         AccountVerifiedEvent event = AccountVerifiedEvent.builder()
@@ -22,16 +30,26 @@ public class AccountEventPublisher {
                 .email(account.getEmail())
                 .build();
 
+        OutboxPublisher outbox = outboxPublisher.getIfAvailable();
+        if (outbox != null) {
+            outbox.publish(KafkaTopics.ACCOUNT_EVENTS, account.getId(), event);
+            log.info("Account verified event queued: accountId={}", account.getId());
+            return;
+        }
+
         log.info("Publishing account verified event for email: {}", event.getEmail());
 
-        kafkaTemplate.send(KafkaTopics.ACCOUNT_EVENTS, event)
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("✅ Event published successfully: accountId={}", account.getId());
-                    } else {
-                        log.error("❌ Failed to publish event: accountId={}", account.getId(), ex);
-                    }
-                });
+        try {
+            kafkaTemplate.send(KafkaTopics.ACCOUNT_EVENTS, account.getId(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.info("✅ Event published successfully: accountId={}", account.getId());
+                        } else {
+                            log.error("❌ Failed to publish event: accountId={}", account.getId(), ex);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Failed to publish account verification event: {}", e.getMessage(), e);
+        }
     }
 }
-
@@ -0,0 +1,130 @@
+package com.app.auth.service.event;
+
+import com.app.auth.config.OtpProperties;
+import com.app.auth.constant.OtpAuditType;
+import com.app.auth.entity.OtpAudit;
+import com.app.auth.repository.OtpAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the OTP audit trail to Postgres off the request path.
+ * <p>
+ * {@link #record} only enqueues; a background thread inserts what has queued up every
+ * {@code flush-interval}, {@code batch-size} rows per statement batch. The queue is bounded:
+ * when the database falls behind, records are dropped and counted rather than slowing down
+ * registration and verification. A failed batch is logged and dropped too, since the trail
+ * is informational and the codes themselves live in Redis. The recorder stops in a phase
+ * after the web server's, so requests still draining at shutdown are queued before the final
+ * flush; anything recorded after that is written straight away. Meters:
+ * {@code auth.otp.audit.queue} and {@code auth.otp.audit.dropped}.
+ */
+@Slf4j
+@Component
+public class OtpAuditRecorder implements SmartLifecycle {
+
+    private final OtpAuditRepository repository;
+    private final OtpProperties.Audit properties;
+    private final BlockingQueue<OtpAudit> queue;
+    private final Counter dropped;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    public OtpAuditRecorder(OtpAuditRepository repository, OtpProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity()));
+        this.dropped = Counter.builder("auth.otp.audit.dropped")
+                .description("OTP audit records dropped because the queue was full or the insert failed")
+                .register(meterRegistry);
+        Gauge.builder("auth.otp.audit.queue", queue, BlockingQueue::size)
+                .description("OTP audit records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void record(String email, OtpAuditType type) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        OtpAudit audit = OtpAudit.builder()
+                .email(email)
+                .type(type)
+                .occurredAt(Instant.now())
+                .build();
+        if (!queue.offer(audit)) {
+            dropped.increment();
+        }
+        if (stopped) {
+            flush();
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-audit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        stopped = false;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Lower than the web server's phases, so this stops only once it has stopped taking requests.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void flush() {
+        List<OtpAudit> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                repository.saveAll(batch);
+            } catch (Exception e) {
+                dropped.increment(batch.size());
+                log.warn("Failed to write {} OTP audit record(s): {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+}
@@ -18,12 +18,13 @@ import com.app.common.constant.ErrorCode;
 import com.app.common.dto.common.CreateUserRequest;
 import com.app.common.dto.common.EmailRequest;
 import com.app.common.exception.InvalidTokenException;
+import com.app.common.exception.ResourceNotFoundException;
 import com.app.common.exception.UnauthorizedException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,7 +36,8 @@ import java.util.Set;
 public class AuthServiceImpl implements AuthService {
 
     private final AccountRepository accountRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleService loginThrottleService;
     private final OtpService otpService;
     private final ResilientEmailServiceClient emailServiceClient;
     private final JwtTokenGenerator jwtTokenGenerator;
@@ -44,9 +46,9 @@ public class AuthServiceImpl implements AuthService {
     private final AuthIdentityRepository authIdentityRepository;
     private final ResilientUserServiceClient userServiceClient;
     private final AccountEventPublisher accountEventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public RegisterResponse register(RegisterRequest registerRequest) {
         log.info("Register attempt for username: {}", registerRequest.getUsername());
 
@@ -58,25 +60,27 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalArgumentException("Email is already in use");
         }
 
-        Account account = Account.builder()
-                .username(registerRequest.getUsername())
-                .email(registerRequest.getEmail())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
-                .roles(Set.of(Role.USER))
-                .status(AccountStatus.PENDING_VERIFICATION)
-                .emailVerified(false)
-                .build();
-
-        account = accountRepository.save(account);
-
-        AuthIdentity authIdentity = AuthIdentity.builder()
-                .account(account)
-                .provider(Provider.APP)
-                .providerEmail(account.getEmail())
-                .providerId(account.getUsername())
-                .build();
-
-        authIdentityRepository.save(authIdentity);
+        // Hashed before the transaction starts, so waiting for a hashing thread holds no connection
+        String encodedPassword = passwordHashingService.encode(registerRequest.getPassword());
+
+        Account account = transactionTemplate.execute(status -> {
+            Account created = accountRepository.save(Account.builder()
+                    .username(registerRequest.getUsername())
+                    .email(registerRequest.getEmail())
+                    .password(encodedPassword)
+                    .roles(Set.of(Role.USER))
+                    .status(AccountStatus.PENDING_VERIFICATION)
+                    .emailVerified(false)
+                    .build());
+
+            authIdentityRepository.save(AuthIdentity.builder()
+                    .account(created)
+                    .provider(Provider.APP)
+                    .providerEmail(created.getEmail())
+                    .providerId(created.getUsername())
+                    .build());
+            return created;
+        });
 
         String otp = otpService.generateOtp(account.getEmail());
 
@@ -97,16 +101,19 @@ public class AuthServiceImpl implements AuthService {
                 .build();
     }
 
+    /**
+     * Not transactional: the account is read and any upgraded hash written in short
+     * transactions of their own, so no connection is held while the password is checked.
+     */
     @Override
-    @Transactional
-    public LoginResponse login(LoginRequest loginRequest) {
-        Account account = accountRepository.findByUsernameOrEmail(loginRequest.getAccount())
-                .orElseThrow(() -> new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS.getMessage()));
+    public LoginResponse login(LoginRequest loginRequest, String sourceAddress) {
+        LoginThrottleService.Attempt attempt =
+                loginThrottleService.checkAllowed(loginRequest.getAccount(), sourceAddress);
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), account.getPassword())) {
-            log.warn("Invalid password for user: {}", loginRequest.getAccount());
-            throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS.getMessage());
-        }
+        Account account = authenticate(loginRequest, attempt);
+        loginThrottleService.recordSuccess(attempt);
+        passwordHashingService.rehashIfNeeded(loginRequest.getPassword(), account.getPassword())
+                .ifPresent(upgraded -> accountRepository.updatePassword(account.getId(), upgraded));
 
         if (account.isPendingVerification()) {
             log.warn("User account is pending verification: {}", loginRequest.getAccount());
@@ -145,10 +152,7 @@ public class AuthServiceImpl implements AuthService {
         Account account = accountRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
-        if (account.isActive()) {
-            log.warn("User already verified: {}", request.getEmail());
-            throw new IllegalStateException("Account already verified");
-        }
+        requirePendingVerification(account);
 
         boolean isValid = otpService.validateOtp(request.getEmail(), request.getOtp());
         if (!isValid) {
@@ -173,11 +177,8 @@ public class AuthServiceImpl implements AuthService {
             log.error("Failed to create user in user-service: {}", e.getMessage(), e);
         }
 
-        try {
-            accountEventPublisher.publishAccountVerifiedEvent(account);
-        } catch (Exception e) {
-            log.error("Failed to publish account verification event: {}", e.getMessage(), e);
-        }
+        // Part of this transaction: rolled back with it if the event cannot be recorded
+        accountEventPublisher.publishAccountVerifiedEvent(account);
 
         java.lang.String accessToken = jwtTokenGenerator.generateAccessToken(account);
         java.lang.String refreshToken = refreshTokenService.createRefreshToken(
@@ -207,16 +208,9 @@ public class AuthServiceImpl implements AuthService {
         Account account = accountRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
-        if (account.isActive()) {
-            throw new IllegalStateException("Account already verified");
-        }
-
-        if (!otpService.canRequestOtp(request.getEmail())) {
-            throw new IllegalStateException("Too many OTP requests. Please try again later.");
-        }
+        requirePendingVerification(account);
 
-        java.lang.String otp = otpService.generateOtp(account.getEmail());
-        otpService.incrementOtpRequest(account.getEmail());
+        java.lang.String otp = otpService.regenerateOtp(account.getEmail());
 
         try {
             sendOtpEmail(account.getEmail(), account.getUsername(), otp);
@@ -232,22 +226,19 @@ public class AuthServiceImpl implements AuthService {
     public LoginResponse refresh(String oldRefreshToken) {
         log.debug("Token refresh attempt");
 
-        String userId = refreshTokenService.verifyRefreshToken(oldRefreshToken);
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotateRefreshToken(oldRefreshToken);
+        String newRefreshToken = rotated.refreshToken();
 
-        Account account = accountRepository.findById(userId)
+        Account account = accountRepository.findById(rotated.accountId())
                 .orElseThrow(() -> new InvalidTokenException("User not found"));
 
         if (!account.isActive()) {
-            refreshTokenService.revokeRefreshToken(oldRefreshToken);
+            refreshTokenService.revokeRefreshToken(newRefreshToken);
             throw new UnauthorizedException("User account is not active");
         }
 
-        String newRefreshToken = refreshTokenService.createRefreshToken(account, null);
-
         String newAccessToken = jwtTokenGenerator.generateAccessToken(account);
 
-        refreshTokenService.revokeRefreshToken(oldRefreshToken);
-
         log.info("Token refresh successful for user: {}", account.getUsername());
 
         return LoginResponse.builder()
@@ -266,15 +257,48 @@ public class AuthServiceImpl implements AuthService {
 
 
     @Override
-    public void logout(String accessToken, String accountId) {
+    public void logout(String accountId) {
         log.info("Logout for user: {}", accountId);
 
-        tokenBlacklistService.blacklistToken(accessToken);
-        refreshTokenService.revokeAllUserTokens(accountId);
+        revokeAllTokens(accountId);
 
         log.info("Logout successful for user: {}", accountId);
     }
 
+    @Override
+    public void changePassword(String accountId, ChangePasswordRequest request) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new UnauthorizedException("User not found"));
+
+        if (!passwordHashingService.matches(request.getCurrentPassword(), account.getPassword())) {
+            log.warn("Invalid current password on password change for user: {}", accountId);
+            throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS.getMessage());
+        }
+
+        accountRepository.updatePassword(accountId, passwordHashingService.encode(request.getNewPassword()));
+        revokeAllTokens(accountId);
+
+        log.info("Password changed for user: {}", accountId);
+    }
+
+    @Override
+    @Transactional
+    public void disableAccount(String accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+
+        account.disable();
+        accountRepository.save(account);
+        revokeAllTokens(accountId);
+
+        log.info("Account disabled: {}", accountId);
+    }
+
+    private void revokeAllTokens(String accountId) {
+        tokenBlacklistService.revokeAllTokens(accountId);
+        refreshTokenService.revokeAllTokens(accountId);
+    }
+
     private void sendOtpEmail(java.lang.String email, java.lang.String username, java.lang.String otp) {
         Map<java.lang.String, Object> variables = new HashMap<>();
         variables.put("username", username);
@@ -289,4 +313,35 @@ public class AuthServiceImpl implements AuthService {
 
         emailServiceClient.sendEmail(emailRequest);
     }
+
+    // Only accounts waiting for their email check get or redeem a code, so a disabled one cannot re-activate itself
+    private void requirePendingVerification(Account account) {
+        if (account.isPendingVerification()) {
+            return;
+        }
+        if (account.isActive()) {
+            log.warn("User already verified: {}", account.getEmail());
+            throw new IllegalStateException("Account already verified");
+        }
+        log.warn("OTP requested for inactive account: {}", account.getEmail());
+        throw new UnauthorizedException("User account is not active");
+    }
+
+    private Account authenticate(LoginRequest loginRequest, LoginThrottleService.Attempt attempt) {
+        try {
+            Account account = accountRepository.findByUsernameOrEmail(loginRequest.getAccount()).orElse(null);
+            if (account != null && passwordHashingService.matches(loginRequest.getPassword(), account.getPassword())) {
+                return account;
+            }
+            if (account != null) {
+                log.warn("Invalid password for user: {}", loginRequest.getAccount());
+            }
+        } catch (RuntimeException e) {
+            // Neither a success nor a failure, so the slot reserved for the attempt is handed back
+            loginThrottleService.release(attempt);
+            throw e;
+        }
+        loginThrottleService.recordFailure(attempt);
+        throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS.getMessage());
+    }
 }
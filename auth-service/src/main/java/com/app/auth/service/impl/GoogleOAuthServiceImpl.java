@@ -236,11 +236,8 @@ public class GoogleOAuthServiceImpl implements GoogleOAuthService {
                 log.error("Failed to create user in user-service: {}", e.getMessage(), e);
             }
 
-            try {
-                accountEventPublisher.publishAccountVerifiedEvent(account);
-            } catch (Exception e) {
-                log.error("Failed to publish account verification event: {}", e.getMessage(), e);
-            }
+            // Part of this transaction: rolled back with it if the event cannot be recorded
+            accountEventPublisher.publishAccountVerifiedEvent(account);
         }
 
         return account;
@@ -0,0 +1,88 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.service.JwtKeyService;
+import com.app.common.security.JwtKeys;
+import com.app.common.security.JwtProperties;
+import com.app.common.security.JwtSignatureAlgorithm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the parsed signing key pair. Keys are parsed on first use and kept for the
+ * lifetime of the service instead of being decoded for every token. The pair must match
+ * {@code jwt.algorithm}, so a misconfigured key fails on the first token rather than
+ * producing tokens no verifier accepts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JwtKeyServiceImpl implements JwtKeyService {
+
+    private final JwtProperties jwtProperties;
+
+    private volatile SigningKey signingKey;
+    private volatile String keyId;
+    private volatile Map<String, Object> jwkSet;
+
+    @Override
+    public SigningKey getSigningKey() {
+        SigningKey key = signingKey;
+        if (key == null) {
+            if (jwtProperties.getPrivateKey() == null || jwtProperties.getPrivateKey().isBlank()) {
+                throw new IllegalStateException("jwt.privateKey not configured for auth-service!");
+            }
+            PrivateKey privateKey = JwtKeys.parsePrivateKey(jwtProperties.getPrivateKey());
+            JwtSignatureAlgorithm algorithm = jwtProperties.getAlgorithm();
+            if (JwtSignatureAlgorithm.forKey(privateKey) != algorithm) {
+                throw new IllegalStateException("jwt.privateKey is a " + privateKey.getAlgorithm()
+                        + " key, which cannot sign " + algorithm.getId() + " (jwt.algorithm)");
+            }
+            key = new SigningKey(getKeyId(), algorithm, privateKey);
+            signingKey = key;
+            log.info("Signing tokens with {}, kid={}", algorithm.getId(), key.keyId());
+        }
+        return key;
+    }
+
+    @Override
+    public String getKeyId() {
+        String kid = keyId;
+        if (kid == null) {
+            kid = jwtProperties.getKeyId() != null && !jwtProperties.getKeyId().isBlank()
+                    ? jwtProperties.getKeyId()
+                    : JwtKeys.thumbprint(JwtKeys.parsePublicKey(jwtProperties.getPublicKey()));
+            keyId = kid;
+        }
+        return kid;
+    }
+
+    @Override
+    public Map<String, Object> getJwkSet() {
+        Map<String, Object> set = jwkSet;
+        if (set == null) {
+            List<Map<String, Object>> keys = new ArrayList<>();
+            keys.add(JwtKeys.toJwk(JwtKeys.parsePublicKey(jwtProperties.getPublicKey()), getKeyId()));
+
+            for (String previousKey : jwtProperties.getPreviousPublicKeys()) {
+                if (previousKey == null || previousKey.isBlank()) {
+                    continue;
+                }
+                PublicKey publicKey = JwtKeys.parsePublicKey(previousKey);
+                keys.add(JwtKeys.toJwk(publicKey, JwtKeys.thumbprint(publicKey)));
+            }
+
+            set = Map.of("keys", List.copyOf(keys));
+            jwkSet = set;
+            log.info("JWKS initialised with {} key(s), active kid={}", keys.size(), getKeyId());
+        }
+        return set;
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.config.LoginThrottleProperties;
+import com.app.auth.dto.LoginThrottleStatus;
+import com.app.auth.service.LoginThrottleService;
+import com.app.common.constant.RedisConstants;
+import com.app.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Sliding-window failed-login counters in Redis, one per account identifier and one per
+ * source address.
+ * <p>
+ * The first {@code free-failures} in the window cost nothing; each further failure doubles
+ * the wait before the next attempt (from {@code base-delay} up to {@code max-delay}), and
+ * {@code lockout-failures} lock the scope out for {@code lockout-duration}. Waiting attempts
+ * are refused with a 429 before the account is looked up or a password hashed, so brute
+ * force stops costing database and CPU time. Each window is a sorted set of failure times,
+ * read and updated by one Lua call per scope on the Redis clock. The check reserves the
+ * attempt a slot in the same call, counted as a failure until the password turns out right,
+ * so guesses sent in parallel are throttled like sequential ones instead of all passing the
+ * check before the first failure is recorded. If Redis is unavailable logins are let
+ * through. Meters: {@code auth.login.throttled} and {@code auth.login.lockouts}, by scope.
+ */
+@Slf4j
+@Service
+public class LoginThrottleServiceImpl implements LoginThrottleService {
+
+    static final String ACCOUNT = "account";
+    static final String SOURCE = "source";
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoginThrottleProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RedisScript<List<Long>> checkScript;
+    private final RedisScript<List<Long>> failScript;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LoginThrottleServiceImpl(StringRedisTemplate redisTemplate,
+                                    LoginThrottleProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.checkScript = (RedisScript) RedisScript.of(
+                new ClassPathResource("scripts/login_throttle_check.lua"), List.class);
+        this.failScript = (RedisScript) RedisScript.of(
+                new ClassPathResource("scripts/login_throttle_fail.lua"), List.class);
+    }
+
+    /**
+     * Failures, time since the latest one and lockout left for one scope, as read by the check script.
+     */
+    record WindowState(long failures, long sinceLastFailureMs, long lockoutMs) {
+
+        static WindowState of(List<Long> result) {
+            return new WindowState(result.get(0), result.get(1), result.get(2));
+        }
+    }
+
+    @Override
+    public Attempt checkAllowed(String account, String sourceAddress) {
+        Attempt attempt = new Attempt(normalize(account), sourceAddress, UUID.randomUUID().toString());
+        if (!properties.isEnabled()) {
+            return attempt;
+        }
+        try {
+            reserve(ACCOUNT, attempt.account(), properties.getAccount(), attempt.id());
+            if (sourceAddress != null) {
+                try {
+                    reserve(SOURCE, sourceAddress, properties.getSource(), attempt.id());
+                } catch (TooManyRequestsException e) {
+                    refund(ACCOUNT, attempt.account(), attempt.id());
+                    throw e;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Login throttle unavailable, allowing attempt: {}", e.getMessage());
+        }
+        return attempt;
+    }
+
+    @Override
+    public void recordFailure(Attempt attempt) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            fail(ACCOUNT, attempt.account(), properties.getAccount(), attempt.id());
+            if (attempt.sourceAddress() != null) {
+                fail(SOURCE, attempt.sourceAddress(), properties.getSource(), attempt.id());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to record failed login: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordSuccess(Attempt attempt) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(failuresKey(ACCOUNT, attempt.account()));
+            if (attempt.sourceAddress() != null) {
+                refund(SOURCE, attempt.sourceAddress(), attempt.id());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to reset failed logins: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void release(Attempt attempt) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            refund(ACCOUNT, attempt.account(), attempt.id());
+            if (attempt.sourceAddress() != null) {
+                refund(SOURCE, attempt.sourceAddress(), attempt.id());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to release login attempt: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public LoginThrottleStatus getStatus(String account, String sourceAddress) {
+        List<LoginThrottleStatus.Scope> scopes = new ArrayList<>();
+        if (account != null) {
+            scopes.add(status(ACCOUNT, normalize(account), properties.getAccount()));
+        }
+        if (sourceAddress != null) {
+            scopes.add(status(SOURCE, sourceAddress, properties.getSource()));
+        }
+        return LoginThrottleStatus.builder().scopes(scopes).build();
+    }
+
+    @Override
+    public void clear(String account, String sourceAddress) {
+        if (account != null) {
+            redisTemplate.delete(List.of(failuresKey(ACCOUNT, normalize(account)), lockoutKey(ACCOUNT, normalize(account))));
+        }
+        if (sourceAddress != null) {
+            redisTemplate.delete(List.of(failuresKey(SOURCE, sourceAddress), lockoutKey(SOURCE, sourceAddress)));
+        }
+        log.info("Cleared login throttle for account={}, source={}", account, sourceAddress);
+    }
+
+    private void reserve(String scope, String value, LoginThrottleProperties.Limits limits, String attemptId) {
+        List<Long> result = execute(checkScript, scope, value, attemptId);
+        WindowState state = result != null ? WindowState.of(result) : new WindowState(0, -1, 0);
+        long retryAfterMs = retryAfterMs(state, limits, properties);
+        if (retryAfterMs > 0) {
+            if (result != null && result.get(3) == 1L) {
+                refund(scope, value, attemptId);
+            }
+            throttledCounter(scope).increment();
+            log.warn("Login throttled: {}={}, retry in {}ms", scope, value, retryAfterMs);
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts. Please try again later", Duration.ofMillis(retryAfterMs));
+        }
+    }
+
+    private void refund(String scope, String value, String attemptId) {
+        redisTemplate.opsForZSet().remove(failuresKey(scope, value), attemptId);
+    }
+
+    private void fail(String scope, String value, LoginThrottleProperties.Limits limits, String attemptId) {
+        List<Long> result = redisTemplate.execute(failScript,
+                List.of(failuresKey(scope, value), lockoutKey(scope, value)),
+                String.valueOf(properties.getWindow().toMillis()),
+                String.valueOf(limits.getLockoutFailures()),
+                String.valueOf(properties.getLockoutDuration().toMillis()),
+                attemptId);
+        if (result != null && result.get(1) == 1L) {
+            Counter.builder("auth.login.lockouts")
+                    .description("Scopes locked out after repeated failed logins")
+                    .tag("scope", scope)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Login locked out for {}={} after {} failures", scope, value, result.get(0));
+        }
+    }
+
+    private WindowState read(String scope, String value) {
+        List<Long> result = execute(checkScript, scope, value, "");
+        return result != null ? WindowState.of(result) : new WindowState(0, -1, 0);
+    }
+
+    private List<Long> execute(RedisScript<List<Long>> script, String scope, String value, String attemptId) {
+        return redisTemplate.execute(script,
+                List.of(failuresKey(scope, value), lockoutKey(scope, value)),
+                String.valueOf(properties.getWindow().toMillis()),
+                attemptId);
+    }
+
+    private LoginThrottleStatus.Scope status(String scope, String value, LoginThrottleProperties.Limits limits) {
+        WindowState state = read(scope, value);
+        return LoginThrottleStatus.Scope.builder()
+                .type(scope)
+                .value(value)
+                .failures(state.failures())
+                .retryAfterSeconds((retryAfterMs(state, limits, properties) + 999) / 1000)
+                .lockedOut(state.lockoutMs() > 0)
+                .build();
+    }
+
+    /**
+     * How long the next attempt has to wait: the lockout if there is one, otherwise what is
+     * left of the delay earned by the failures past the free ones.
+     */
+    static long retryAfterMs(WindowState state, LoginThrottleProperties.Limits limits,
+                             LoginThrottleProperties properties) {
+        if (state.lockoutMs() > 0) {
+            return state.lockoutMs();
+        }
+        long excess = state.failures() - limits.getFreeFailures();
+        if (excess <= 0 || state.sinceLastFailureMs() < 0) {
+            return 0;
+        }
+        long maxDelay = properties.getMaxDelay().toMillis();
+        long delay = excess > 30
+                ? maxDelay
+                : Math.min(maxDelay, properties.getBaseDelay().toMillis() << (excess - 1));
+        return Math.max(0, delay - state.sinceLastFailureMs());
+    }
+
+    private Counter throttledCounter(String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts refused before any lookup or hashing")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    // Hash tags keep a scope's two keys in one cluster slot, as the scripts require
+    private static String failuresKey(String scope, String value) {
+        return RedisConstants.LOGIN_FAILURES_PREFIX + "{" + scope + ":" + value + "}";
+    }
+
+    private static String lockoutKey(String scope, String value) {
+        return RedisConstants.LOGIN_LOCKOUT_PREFIX + "{" + scope + ":" + value + "}";
+    }
+
+    private static String normalize(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -5,13 +5,13 @@ import com.app.auth.entity.ServiceClient;
 import com.app.auth.repository.ServiceClientRepository;
 import com.app.auth.service.JwtTokenGenerator;
 import com.app.auth.service.OAuth2ClientService;
+import com.app.auth.service.PasswordHashingService;
 import com.app.common.constant.ErrorCode;
 import com.app.common.constant.SecurityConstants;
 import com.app.common.dto.auth.OAuth2TokenResponse;
 import com.app.common.exception.UnauthorizedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -21,7 +21,7 @@ public class OAuth2ClientServiceImpl implements OAuth2ClientService {
 
     private final ServiceClientRepository serviceClientRepository;
     private final JwtTokenGenerator jwtTokenGenerator;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Override
     public OAuth2TokenResponse generateServiceToken(OAuth2TokenRequest request) {
@@ -37,9 +37,14 @@ public class OAuth2ClientServiceImpl implements OAuth2ClientService {
             throw new UnauthorizedException("Service client is disabled");
         }
 
-        if (!passwordEncoder.matches(request.getClientSecret(), client.getClientSecret())) {
+        if (!passwordHashingService.matches(request.getClientSecret(), client.getClientSecret())) {
             throw new UnauthorizedException("Invalid client credentials");
         }
+        passwordHashingService.rehashIfNeeded(request.getClientSecret(), client.getClientSecret())
+                .ifPresent(upgraded -> {
+                    client.setClientSecret(upgraded);
+                    serviceClientRepository.save(client);
+                });
 
         String requestedScope = request.getScope() != null ? request.getScope() : client.getAllowedScopes();
         if (!isValidScope(client, requestedScope)) {
@@ -1,142 +1,129 @@
 package com.app.auth.service.impl;
 
-import com.app.auth.entity.OtpCode;
-import com.app.auth.repository.OtpCodeRepository;
+import com.app.auth.config.OtpProperties;
+import com.app.auth.constant.OtpAuditType;
 import com.app.auth.service.OtpService;
+import com.app.auth.service.event.OtpAuditRecorder;
 import com.app.common.constant.RedisConstants;
+import com.app.common.exception.TooManyRequestsException;
 import com.app.common.exception.UnauthorizedException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One-time codes kept only in Redis.
+ * <p>
+ * Issuing (with the resend limit) and checking (with the attempt count) are one Lua call
+ * each, so a code is stored, guessed at and consumed atomically, expires with its key and
+ * costs registration and verification a single round trip. A code is burned after
+ * {@code max-attempts} wrong guesses. Postgres only receives the {@link OtpAuditRecorder}
+ * trail, written asynchronously in batches.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
 
-    final OtpCodeRepository otpCodeRepository;
-    final RedisTemplate<String, String> redisTemplate;
-
     private static final SecureRandom RANDOM = new SecureRandom();
-    private static final long otpExpiration = 300;
-    private static final int otpLength = 6;
+
+    private final StringRedisTemplate redisTemplate;
+    private final OtpProperties properties;
+    private final OtpAuditRecorder auditRecorder;
+    private final RedisScript<List<Long>> issueScript;
+    private final RedisScript<Long> consumeScript;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public OtpServiceImpl(StringRedisTemplate redisTemplate,
+                          OtpProperties properties,
+                          OtpAuditRecorder auditRecorder) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.auditRecorder = auditRecorder;
+        this.issueScript = (RedisScript) RedisScript.of(new ClassPathResource("scripts/otp_issue.lua"), List.class);
+        this.consumeScript = RedisScript.of(new ClassPathResource("scripts/otp_consume.lua"), Long.class);
+    }
 
     @Override
-    @Transactional
     public String generateOtp(String email) {
-        log.info("Generating OTP for email: {}", email);
-
-        String code = generateRandomCode();
-        Instant expriresAt = Instant.now().plusSeconds(otpExpiration);
-
-        OtpCode otpCode = OtpCode.builder()
-                .email(email)
-                .code(code)
-                .expiresAt(expriresAt)
-                .build();
-        otpCodeRepository.save(otpCode);
-
-        String redisKey = RedisConstants.OTP_REDIS_PREFIX + email;
-        redisTemplate.opsForValue().set(
-                redisKey,
-                code,
-                Duration.ofSeconds(otpExpiration)
-        );
+        return issue(email, 0);
+    }
 
-        return code;
+    @Override
+    public String regenerateOtp(String email) {
+        return issue(email, properties.getResendLimit());
     }
 
     @Override
     public boolean validateOtp(String email, String otp) {
-
-        String redisKey = RedisConstants.OTP_REDIS_PREFIX + email;
-        String cachedOtp = redisTemplate.opsForValue().get(redisKey);
-
-        if (cachedOtp != null && cachedOtp.equals(otp)) {
-            Optional<OtpCode> otpCode = otpCodeRepository.findByEmailAndCodeAndVerifiedFalse(email, otp);
-            if (otpCode.isPresent()) {
-                OtpCode otpValue = otpCode.get();
-                if (otpValue.isValid()) {
-                    otpValue.setVerified(true);
-                    otpCodeRepository.save(otpValue);
-
-                    redisTemplate.delete(redisKey);
-
-                    log.info("OTP validated successfully for email: {}", email);
-                    return true;
-                }
-            }
+        String address = normalize(email);
+        Long result = redisTemplate.execute(consumeScript,
+                List.of(codeKey(address)),
+                otp,
+                String.valueOf(properties.getMaxAttempts()));
+
+        if (result != null && result == 1L) {
+            auditRecorder.record(address, OtpAuditType.VERIFIED);
+            log.info("OTP validated successfully for email: {}", email);
+            return true;
         }
-
-        Optional<OtpCode> otpOpt = otpCodeRepository.findByEmailAndCodeAndVerifiedFalse(email, otp);
-        if (otpOpt.isPresent()) {
-            OtpCode otpCode = otpOpt.get();
-            if (otpCode.isValid()) {
-                otpCode.setVerified(true);
-                otpCodeRepository.save(otpCode);
-
-                // Remove from Redis
-                redisTemplate.delete(redisKey);
-
-                log.info("OTP validated successfully from database for email: {}", email);
-                return true;
-            } else {
-                log.warn("OTP expired for email: {}", email);
-                throw new UnauthorizedException("OTP has expired");
-            }
+        if (result != null && result == -2L) {
+            auditRecorder.record(address, OtpAuditType.EXHAUSTED);
+            log.warn("OTP burned after too many attempts for email: {}", email);
+            throw new UnauthorizedException("Too many invalid attempts. Please request a new code");
         }
 
-        log.warn("Invalid OTP for email: {}", email);
+        auditRecorder.record(address, OtpAuditType.FAILED);
+        log.warn("Invalid or expired OTP for email: {}", email);
         return false;
     }
 
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
-    @Override
-    public void cleanupExpiredOtps() {
-        log.info("Running cleanup task for expired OTPs");
-        otpCodeRepository.deleteExpiredOtps(Instant.now());
-    }
+    private String issue(String email, int resendLimit) {
+        String address = normalize(email);
+        String code = generateRandomCode();
 
-    @Override
-    public boolean canRequestOtp(String email) {
-        String rateLimitKey = RedisConstants.OTP_RATE_LIMIT_KEY + email;
-        String attempts = redisTemplate.opsForValue().get(rateLimitKey);
-
-        if (attempts != null) {
-            int count = Integer.parseInt(attempts);
-            if (count >= 3) {
-                log.warn("OTP rate limit exceeded for email: {}", email);
-                return false;
-            }
+        List<Long> result = redisTemplate.execute(issueScript,
+                List.of(codeKey(address), resendKey(address)),
+                code,
+                String.valueOf(properties.getTtl().toMillis()),
+                String.valueOf(resendLimit),
+                String.valueOf(properties.getResendWindow().toMillis()));
+
+        if (result != null && result.get(0) == 0L) {
+            auditRecorder.record(address, OtpAuditType.RESEND_LIMITED);
+            log.warn("OTP rate limit exceeded for email: {}", email);
+            throw new TooManyRequestsException("Too many OTP requests. Please try again later.",
+                    Duration.ofMillis(result.get(1)));
         }
 
-        return true;
-    }
-
-    @Override
-    public void incrementOtpRequest(String email) {
-        String rateLimitKey = RedisConstants.OTP_RATE_LIMIT_KEY + email;
-        Long count = redisTemplate.opsForValue().increment(rateLimitKey);
-
-        if (count != null && count == 1) {
-            redisTemplate.expire(rateLimitKey, 15, TimeUnit.MINUTES);
-        }
+        auditRecorder.record(address, OtpAuditType.ISSUED);
+        log.info("Generated OTP for email: {}", email);
+        return code;
     }
 
     private String generateRandomCode() {
-        int min = (int) Math.pow(10, otpLength - 1);
-        int max = (int) Math.pow(10, otpLength) - 1;
+        int min = (int) Math.pow(10, properties.getLength() - 1);
+        int max = (int) Math.pow(10, properties.getLength()) - 1;
         int code = RANDOM.nextInt(max - min + 1) + min;
         return String.valueOf(code);
     }
+
+    // Hash tags keep an address's code and resend counter in one cluster slot, as the issue script requires
+    private static String codeKey(String address) {
+        return RedisConstants.OTP_REDIS_PREFIX + "{" + address + "}";
+    }
+
+    private static String resendKey(String address) {
+        return RedisConstants.OTP_RATE_LIMIT_KEY + "{" + address + "}";
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,166 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.config.PasswordHashingProperties;
+import com.app.auth.service.PasswordHashingService;
+import com.app.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on its own fixed, CPU-sized pool instead of the request threads.
+ * <p>
+ * A hash costs tens of milliseconds of pure CPU, so a login burst hashed inline would occupy
+ * every request thread and stall cheap endpoints such as {@code /auth/refresh}. Here at most
+ * {@code threads} hashes run at once and {@code queue-capacity} more may wait; anything
+ * beyond that, or waiting longer than {@code max-wait}, is refused at once with a 503.
+ * Meters: {@code auth.password.hashing} (hash time, by operation),
+ * {@code auth.password.hashing.queue} and {@code .active}, {@code .rejected} (by reason)
+ * and {@code auth.password.rehashed}.
+ */
+@Slf4j
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final PasswordEncoder passwordEncoder;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+    private final Counter rehashed;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      PasswordHashingProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = properties.getMaxWait();
+
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchTimer = hashTimer(meterRegistry, "matches");
+        this.queueFull = rejectedCounter(meterRegistry, "queue_full");
+        this.timedOut = rejectedCounter(meterRegistry, "timeout");
+        this.rehashed = Counter.builder("auth.password.rehashed")
+                .description("Stored hashes upgraded to the configured algorithm or cost on login")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes being computed")
+                .register(meterRegistry);
+
+        log.info("Password hashing with {} on {} thread(s), queue capacity {}",
+                properties.getAlgorithm(), threads, properties.getQueueCapacity());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public Optional<String> rehashIfNeeded(CharSequence rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return Optional.empty();
+        }
+        try {
+            String upgraded = encode(rawPassword);
+            rehashed.increment();
+            return Optional.of(upgraded);
+        } catch (ServiceUnavailableException e) {
+            // Under load the upgrade waits for the next login rather than failing this one
+            return Optional.empty();
+        }
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException(
+                "Too many sign-in requests in progress. Please try again shortly", RETRY_AFTER);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Time spent computing password hashes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.password.hashing.rejected")
+                .description("Hash requests refused with 503, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,93 +1,167 @@
 package com.app.auth.service.impl;
 
 import com.app.auth.entity.Account;
-import com.app.auth.entity.RefreshToken;
-import com.app.auth.repository.RefreshTokenRepository;
 import com.app.auth.service.RefreshTokenService;
-import com.app.common.constant.SecurityConstants;
+import com.app.common.constant.RedisConstants;
 import com.app.common.exception.InvalidTokenException;
-import lombok.RequiredArgsConstructor;
+import com.app.common.security.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.time.Instant;
+import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
-@Service
+/**
+ * Refresh tokens as rotating families in Redis, one family per login.
+ * <p>
+ * A family is a hash ({@code refresh:{<accountId>}:family:<familyId>}) holding the SHA-256 of
+ * its one valid token, and each account keeps a set of its family ids. Refreshing verifies
+ * the presented token and swaps in its successor in a single Lua call, so the endpoint every
+ * client hits every 15 minutes costs one round trip. A token that was already rotated away
+ * coming back means it leaked: the family is revoked and both holders have to log in again.
+ * Revoking all of an account's tokens is one script over its set. The account id and family
+ * id travel inside the token, so every key is known before Redis is asked, and the account
+ * hash tag keeps all of them in one cluster slot. Meter: {@code auth.refresh.reuse}.
+ */
 @Slf4j
-@RequiredArgsConstructor
+@Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private static final int SECRET_BYTES = 32;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtProperties jwtProperties;
+    private final RedisScript<Long> createScript;
+    private final RedisScript<Long> rotateScript;
+    private final RedisScript<Long> revokeAllScript;
+    private final Counter reuseCounter;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(StringRedisTemplate redisTemplate,
+                                   JwtProperties jwtProperties,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.jwtProperties = jwtProperties;
+        this.createScript = RedisScript.of(new ClassPathResource("scripts/refresh_token_create.lua"), Long.class);
+        this.rotateScript = RedisScript.of(new ClassPathResource("scripts/refresh_token_rotate.lua"), Long.class);
+        this.revokeAllScript = RedisScript.of(new ClassPathResource("scripts/refresh_token_revoke_all.lua"), Long.class);
+        this.reuseCounter = Counter.builder("auth.refresh.reuse")
+                .description("Rotated refresh tokens presented again; each revokes its family")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decoded token: {@code <familyId>:<secret>:<accountId>}, stored only as its hash.
+     */
+    record ParsedToken(String familyId, String accountId, String hash) {
+    }
 
     @Override
     public String createRefreshToken(Account account, String deviceId) {
-        String rawToken = UUID.randomUUID() + ":" + account.getId();
-        String tokenHash = hashToken(rawToken);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .id(tokenHash)
-                .accountId(account.getId())
-                .deviceId(deviceId)
-                .createdAt(Instant.now())
-                .expiresAt(Instant.now().plusMillis(SecurityConstants.REFRESH_TOKEN_EXP))
-                .build();
+        String familyId = UUID.randomUUID().toString();
+        String rawToken = newToken(familyId, account.getId());
 
-        refreshTokenRepository.save(refreshToken);
+        redisTemplate.execute(createScript,
+                List.of(familyKey(account.getId(), familyId), familiesKey(account.getId())),
+                parse(rawToken).hash(),
+                familyId,
+                deviceId != null ? deviceId : "",
+                String.valueOf(jwtProperties.getRefreshTokenExpiration()),
+                familyKey(account.getId(), ""));
 
         log.info("Created refresh token for account: {}, device : {}",
                 account.getUsername(), deviceId);
 
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawToken.getBytes());
+        return rawToken;
     }
 
     @Override
-    public String verifyRefreshToken(String rawToken) {
-        try {
-            String decodedToken = new String(Base64.getUrlDecoder().decode(rawToken));
-            String tokenHash = hashToken(decodedToken);
-
-            RefreshToken refreshToken = refreshTokenRepository.findById(tokenHash)
-                    .orElseThrow(() -> new InvalidTokenException("Refresh token not found or expired"));
-
-            if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
-                refreshTokenRepository.deleteById(tokenHash);
-                throw new InvalidTokenException("Refresh token expired");
-            }
-
-            log.debug("Refresh token verified for user: {}", refreshToken.getAccountId());
-            return refreshToken.getAccountId();
-
-        } catch (IllegalArgumentException e) {
-            throw new InvalidTokenException("Invalid refresh token format");
+    public RotatedToken rotateRefreshToken(String rawToken) {
+        ParsedToken presented = parse(rawToken);
+        String nextToken = newToken(presented.familyId(), presented.accountId());
+
+        Long result = redisTemplate.execute(rotateScript,
+                List.of(familyKey(presented.accountId(), presented.familyId()), familiesKey(presented.accountId())),
+                presented.hash(),
+                parse(nextToken).hash(),
+                String.valueOf(jwtProperties.getRefreshTokenExpiration()),
+                presented.familyId());
+
+        if (result == null || result == 0L) {
+            throw new InvalidTokenException("Refresh token not found or expired");
+        }
+        if (result < 0) {
+            reuseCounter.increment();
+            log.warn("Reuse of rotated refresh token for account: {}, family {} revoked",
+                    presented.accountId(), presented.familyId());
+            throw new InvalidTokenException("Refresh token has been revoked");
         }
+
+        log.debug("Refresh token rotated for user: {}", presented.accountId());
+        return new RotatedToken(presented.accountId(), nextToken);
     }
 
     @Override
     public void revokeRefreshToken(String rawToken) {
         try {
-            String decodedToken = new String(Base64.getUrlDecoder().decode(rawToken));
-            String tokenHash = hashToken(decodedToken);
-            refreshTokenRepository.deleteById(tokenHash);
-            log.info("Revoked refresh token: {}", tokenHash);
-        } catch (Exception e) {
+            ParsedToken token = parse(rawToken);
+            redisTemplate.delete(familyKey(token.accountId(), token.familyId()));
+            redisTemplate.opsForSet().remove(familiesKey(token.accountId()), token.familyId());
+            log.info("Revoked refresh token family: {}", token.familyId());
+        } catch (InvalidTokenException | DataAccessException e) {
             log.warn("Failed to revoke refresh token", e);
         }
     }
 
     @Override
-    public void revokeAllUserTokens(String accountId) {
-        List<RefreshToken> tokens = refreshTokenRepository.findByAccountId(accountId);
-        tokens.forEach(token -> refreshTokenRepository.deleteById(token.getId()));
-        log.info("Revoked all refresh tokens for user: {}, count: {}", accountId, tokens.size());
+    public void revokeAllTokens(String accountId) {
+        Long revoked = redisTemplate.execute(revokeAllScript,
+                List.of(familiesKey(accountId)),
+                familyKey(accountId, ""));
+        log.info("Revoked all refresh tokens for user: {}, families: {}", accountId, revoked);
+    }
+
+    private String newToken(String familyId, String accountId) {
+        byte[] secret = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secret);
+        String decoded = familyId + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(secret) + ":" + accountId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ParsedToken parse(String rawToken) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(rawToken), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            if (parts.length != 3 || parts[0].isEmpty() || parts[2].isEmpty()) {
+                throw new InvalidTokenException("Invalid refresh token format");
+            }
+            return new ParsedToken(parts[0], parts[2], hashToken(decoded));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid refresh token format");
+        }
+    }
+
+    // Hash tag on the account keeps its families and family set in one cluster slot, as the scripts require
+    private static String familyKey(String accountId, String familyId) {
+        return RedisConstants.REFRESH_TOKEN_PREFIX + "{" + accountId + "}:family:" + familyId;
+    }
+
+    private static String familiesKey(String accountId) {
+        return RedisConstants.REFRESH_TOKEN_PREFIX + "{" + accountId + "}:families";
     }
 
-    private String hashToken(String token) {
+    private static String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,32 @@
+package com.app.auth.util;
+
+import com.app.auth.config.LoginThrottleProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * The caller's address as seen by the outermost trusted proxy.
+ * <p>
+ * The gateway appends the address it received the request from to {@code X-Forwarded-For};
+ * entries further left come from the client and can be forged, so with
+ * {@code trusted-proxies} proxies in front the address is the entry that many from the right.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientAddressResolver {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final LoginThrottleProperties properties;
+
+    public String resolve(HttpServletRequest request) {
+        int trustedProxies = properties.getTrustedProxies();
+        String forwardedFor = request.getHeader(X_FORWARDED_FOR);
+        if (trustedProxies <= 0 || forwardedFor == null || forwardedFor.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = forwardedFor.split(",");
+        return hops[Math.max(0, hops.length - trustedProxies)].trim();
+    }
+}
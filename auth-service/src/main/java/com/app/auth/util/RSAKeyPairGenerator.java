@@ -1,19 +1,25 @@
 package com.app.auth.util;
 
+import com.app.common.security.JwtSignatureAlgorithm;
+
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Base64;
 
 
+/**
+ * Prints a JWT signing key pair. Defaults to RSA (RS256); pass {@code ES256} or
+ * {@code EdDSA} as the first argument for an EC P-256 or Ed25519 pair.
+ */
 public class RSAKeyPairGenerator {
 
     public static void main(String[] args) throws Exception {
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048); // 2048-bit RSA (industry standard)
+        JwtSignatureAlgorithm algorithm = args.length > 0
+                ? JwtSignatureAlgorithm.valueOf(args[0].toUpperCase())
+                : JwtSignatureAlgorithm.RS256;
 
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        KeyPair keyPair = algorithm.generateKeyPair();
         PrivateKey privateKey = keyPair.getPrivate();
         PublicKey publicKey = keyPair.getPublic();
 
@@ -21,7 +27,7 @@ public class RSAKeyPairGenerator {
         String publicKeyPEM = Base64.getEncoder().encodeToString(publicKey.getEncoded());
 
         System.out.println("=".repeat(80));
-        System.out.println("RSA KEY PAIR GENERATED");
+        System.out.println(algorithm.getId() + " KEY PAIR GENERATED");
         System.out.println("=".repeat(80));
         System.out.println();
 
@@ -41,6 +47,7 @@ public class RSAKeyPairGenerator {
         System.out.println();
         System.out.println("# auth-service only (in .env or environment)");
         System.out.println("JWT_PRIVATE_KEY=" + privateKeyPEM);
+        System.out.println("JWT_ALGORITHM=" + algorithm.getId());
         System.out.println();
         System.out.println("# All services (in .env or environment)");
         System.out.println("JWT_PUBLIC_KEY=" + publicKeyPEM);
@@ -0,0 +1,39 @@
+-- Failed logins of one scope (an account or a source address) within the window, reserving a
+-- slot for the attempt being checked
+-- KEYS[1] failures, a sorted set scored by failure time in ms; KEYS[2] lockout key
+-- ARGV[1] window in ms, ARGV[2] attempt id to reserve ('' = read only)
+-- Returns { failures in the window, ms since the latest failure (-1 = none), ms of lockout left (0 = none),
+--           1 if the attempt was reserved else 0 }
+-- The reservation counts as a failure from now on, so attempts checked while this one is still
+-- running see it; a successful or refused attempt removes it again
+
+local failures_key = KEYS[1]
+local lockout_key = KEYS[2]
+local window = tonumber(ARGV[1])
+
+-- Server clock, so every auth-service instance sees the same window
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', failures_key, '-inf', now - window)
+local failures = redis.call('ZCARD', failures_key)
+
+local since_last = -1
+if failures > 0 then
+    local latest = redis.call('ZRANGE', failures_key, -1, -1, 'WITHSCORES')
+    since_last = now - tonumber(latest[2])
+end
+
+local lockout = redis.call('PTTL', lockout_key)
+if lockout < 0 then
+    lockout = 0
+end
+
+local reserved = 0
+if lockout == 0 and ARGV[2] ~= '' then
+    redis.call('ZADD', failures_key, now, ARGV[2])
+    redis.call('PEXPIRE', failures_key, window)
+    reserved = 1
+end
+
+return { failures, since_last, lockout, reserved }
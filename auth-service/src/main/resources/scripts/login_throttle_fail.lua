@@ -0,0 +1,28 @@
+-- Records a failed login for one scope and locks the scope out once it reaches the threshold
+-- KEYS[1] failures, a sorted set scored by failure time in ms; KEYS[2] lockout key
+-- ARGV[1] window in ms, ARGV[2] failures that trigger a lockout, ARGV[3] lockout in ms,
+-- ARGV[4] attempt id; the check script already reserved it, ZADD only moves it to the failure time
+-- Returns { failures in the window, 1 if this failure started a lockout else 0 }
+
+local failures_key = KEYS[1]
+local lockout_key = KEYS[2]
+local window = tonumber(ARGV[1])
+local threshold = tonumber(ARGV[2])
+local lockout = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', failures_key, '-inf', now - window)
+redis.call('ZADD', failures_key, now, ARGV[4])
+redis.call('PEXPIRE', failures_key, window)
+local failures = redis.call('ZCARD', failures_key)
+
+if failures >= threshold then
+    -- Counting starts over once the lockout ends
+    redis.call('SET', lockout_key, '1', 'PX', lockout)
+    redis.call('DEL', failures_key)
+    return { failures, 1 }
+end
+
+return { failures, 0 }
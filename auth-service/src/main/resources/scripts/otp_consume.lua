@@ -0,0 +1,26 @@
+-- Checks a one-time code and consumes it on a match; wrong guesses count against it
+-- KEYS[1] code hash
+-- ARGV[1] presented code, ARGV[2] wrong guesses that burn the code
+-- Returns 1 valid (code deleted), 0 no code (never issued, expired or used),
+-- -1 wrong code, -2 wrong code and no attempts left (code deleted)
+
+local code_key = KEYS[1]
+
+local code = redis.call('HGET', code_key, 'code')
+if not code then
+    return 0
+end
+
+if code == ARGV[1] then
+    redis.call('DEL', code_key)
+    return 1
+end
+
+-- HINCRBY keeps the key's TTL
+local attempts = redis.call('HINCRBY', code_key, 'attempts', 1)
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('DEL', code_key)
+    return -2
+end
+
+return -1
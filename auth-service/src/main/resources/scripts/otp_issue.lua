@@ -0,0 +1,24 @@
+-- Stores a new one-time code, replacing any previous one, unless the address used up its resends
+-- KEYS[1] code hash; KEYS[2] resend counter
+-- ARGV[1] code, ARGV[2] code lifetime in ms, ARGV[3] resends allowed per window (0 = not counted), ARGV[4] window in ms
+-- Returns { 1, 0 } issued, or { 0, ms until the window ends } when over the limit
+
+local code_key = KEYS[1]
+local resend_key = KEYS[2]
+local limit = tonumber(ARGV[3])
+
+if limit > 0 then
+    local sent = tonumber(redis.call('GET', resend_key) or '0')
+    if sent >= limit then
+        return { 0, math.max(redis.call('PTTL', resend_key), 0) }
+    end
+    if redis.call('INCR', resend_key) == 1 then
+        redis.call('PEXPIRE', resend_key, ARGV[4])
+    end
+end
+
+redis.call('DEL', code_key)
+redis.call('HSET', code_key, 'code', ARGV[1], 'attempts', 0)
+redis.call('PEXPIRE', code_key, ARGV[2])
+
+return { 1, 0 }
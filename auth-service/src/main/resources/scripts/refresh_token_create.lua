@@ -0,0 +1,23 @@
+-- Starts a refresh-token family (one per login) and registers it with the account
+-- KEYS[1] family hash; KEYS[2] set of the account's family ids
+-- ARGV[1] token hash, ARGV[2] family id, ARGV[3] device id, ARGV[4] lifetime in ms, ARGV[5] family key prefix
+-- Family keys share the account's hash tag, so the pruning below stays in KEYS[2]'s slot
+
+local family_key = KEYS[1]
+local families_key = KEYS[2]
+local ttl = tonumber(ARGV[4])
+
+redis.call('HSET', family_key, 'current', ARGV[1], 'device', ARGV[3])
+redis.call('PEXPIRE', family_key, ttl)
+
+-- Drop families that expired on their own, so the set stays as small as the live sessions
+for _, family in ipairs(redis.call('SMEMBERS', families_key)) do
+    if redis.call('EXISTS', ARGV[5] .. family) == 0 then
+        redis.call('SREM', families_key, family)
+    end
+end
+
+redis.call('SADD', families_key, ARGV[2])
+redis.call('PEXPIRE', families_key, ttl)
+
+return 1
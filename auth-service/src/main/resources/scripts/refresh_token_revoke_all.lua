@@ -0,0 +1,14 @@
+-- Revokes every refresh-token family of an account
+-- KEYS[1] set of the account's family ids
+-- ARGV[1] family key prefix; family keys share the account's hash tag, so they live in KEYS[1]'s slot
+-- Returns the number of families revoked
+
+local families_key = KEYS[1]
+local families = redis.call('SMEMBERS', families_key)
+
+for _, family in ipairs(families) do
+    redis.call('DEL', ARGV[1] .. family)
+end
+redis.call('DEL', families_key)
+
+return #families
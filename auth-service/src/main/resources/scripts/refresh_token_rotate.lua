@@ -0,0 +1,25 @@
+-- Verifies a refresh token and replaces it with the next one of its family in one step
+-- KEYS[1] family hash; KEYS[2] set of the account's family ids
+-- ARGV[1] presented token hash, ARGV[2] next token hash, ARGV[3] lifetime in ms, ARGV[4] family id
+-- Returns 1 rotated, 0 unknown or expired family, -1 reuse of a rotated token (family revoked)
+
+local family_key = KEYS[1]
+local families_key = KEYS[2]
+
+local current = redis.call('HGET', family_key, 'current')
+if not current then
+    return 0
+end
+
+if current ~= ARGV[1] then
+    -- An earlier token of the family came back: whoever holds either copy may be an attacker
+    redis.call('DEL', family_key)
+    redis.call('SREM', families_key, ARGV[4])
+    return -1
+end
+
+redis.call('HSET', family_key, 'current', ARGV[2])
+redis.call('PEXPIRE', family_key, ARGV[3])
+redis.call('PEXPIRE', families_key, ARGV[3])
+
+return 1
@@ -0,0 +1,59 @@
+package com.app.auth.service.event;
+
+import com.app.auth.config.OtpProperties;
+import com.app.auth.constant.OtpAuditType;
+import com.app.auth.entity.OtpAudit;
+import com.app.auth.repository.OtpAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OtpAuditRecorderTest {
+
+    @Test
+    void writesQueuedRecordsInBatchesAndDropsOverflow() {
+        OtpProperties properties = new OtpProperties();
+        properties.getAudit().setBatchSize(2);
+        properties.getAudit().setQueueCapacity(5);
+        OtpAuditRepository repository = mock(OtpAuditRepository.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<OtpAudit> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch;
+        }).when(repository).saveAll(anyList());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OtpAuditRecorder recorder = new OtpAuditRecorder(repository, properties, meterRegistry);
+
+        for (int i = 0; i < 6; i++) {
+            recorder.record("user@example.com", OtpAuditType.ISSUED);
+        }
+        recorder.flush();
+
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+        assertThat(meterRegistry.get("auth.otp.audit.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.otp.audit.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    void recordsAfterStopAreWrittenStraightAway() {
+        OtpAuditRepository repository = mock(OtpAuditRepository.class);
+        OtpAuditRecorder recorder = new OtpAuditRecorder(repository, new OtpProperties(), new SimpleMeterRegistry());
+        recorder.start();
+        recorder.stop();
+
+        recorder.record("user@example.com", OtpAuditType.VERIFIED);
+
+        verify(repository).saveAll(anyList());
+        assertThat(recorder.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+}
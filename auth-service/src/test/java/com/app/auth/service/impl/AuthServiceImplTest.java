@@ -0,0 +1,57 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.constant.AccountStatus;
+import com.app.auth.dto.ResendOtpRequest;
+import com.app.auth.dto.VerifyOtpRequest;
+import com.app.auth.entity.Account;
+import com.app.auth.repository.AccountRepository;
+import com.app.auth.service.OtpService;
+import com.app.common.exception.UnauthorizedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private OtpService otpService;
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @Test
+    void disabledAccountCannotGetOrRedeemAnOtp() {
+        Account account = Account.builder().email(EMAIL).status(AccountStatus.DISABLED).build();
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(account));
+
+        assertThatThrownBy(() -> authService.resendOtp(ResendOtpRequest.builder().email(EMAIL).build()))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> authService.verifyOtp(
+                VerifyOtpRequest.builder().email(EMAIL).otp("123456").build()))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(otpService);
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.DISABLED);
+    }
+
+    @Test
+    void disabledAccountCannotBeActivated() {
+        Account account = Account.builder().email(EMAIL).status(AccountStatus.DISABLED).build();
+
+        assertThatThrownBy(account::activate).isInstanceOf(IllegalStateException.class);
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.DISABLED);
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.config.LoginThrottleProperties;
+import com.app.auth.service.LoginThrottleService;
+import com.app.auth.service.impl.LoginThrottleServiceImpl.WindowState;
+import com.app.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginThrottleServiceImplTest {
+
+    private final LoginThrottleProperties properties = new LoginThrottleProperties();
+    private final LoginThrottleProperties.Limits limits = new LoginThrottleProperties.Limits(3, 10);
+
+    @Test
+    void delaysDoubleAfterTheFreeFailuresUpToTheMaximum() {
+        assertThat(retryAfter(3, 0)).isZero();
+        assertThat(retryAfter(4, 0)).isEqualTo(1_000);
+        assertThat(retryAfter(5, 0)).isEqualTo(2_000);
+        assertThat(retryAfter(6, 500)).isEqualTo(3_500);
+        assertThat(retryAfter(9, 0)).isEqualTo(32_000);
+        assertThat(retryAfter(10, 0)).isEqualTo(60_000);
+        assertThat(retryAfter(60, 0)).isEqualTo(60_000);
+        // The delay has already passed
+        assertThat(retryAfter(5, 2_000)).isZero();
+    }
+
+    @Test
+    void lockoutOverridesTheDelay() {
+        WindowState lockedOut = new WindowState(0, -1, 900_000);
+
+        assertThat(LoginThrottleServiceImpl.retryAfterMs(lockedOut, limits, properties)).isEqualTo(900_000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refusedAttemptHandsItsReservationBack() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(zSet);
+        // Four failures, the latest just now: the fourth one costs a second's wait
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(4L, 0L, 0L, 1L));
+        LoginThrottleServiceImpl service =
+                new LoginThrottleServiceImpl(redis, properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> service.checkAllowed("Alice", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(zSet).remove(eq("login:failures:{account:alice}"), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void successfulAttemptOnlyGivesTheSourceItsSlotBack() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(zSet);
+        LoginThrottleServiceImpl service =
+                new LoginThrottleServiceImpl(redis, properties, new SimpleMeterRegistry());
+
+        service.recordSuccess(new LoginThrottleService.Attempt("alice", "10.0.0.1", "attempt-1"));
+
+        verify(redis).delete("login:failures:{account:alice}");
+        verify(zSet).remove("login:failures:{source:10.0.0.1}", "attempt-1");
+        verify(zSet, never()).remove(eq("login:failures:{account:alice}"), any());
+    }
+
+    private long retryAfter(long failures, long sinceLastFailureMs) {
+        return LoginThrottleServiceImpl.retryAfterMs(
+                new WindowState(failures, sinceLastFailureMs, 0), limits, properties);
+    }
+}
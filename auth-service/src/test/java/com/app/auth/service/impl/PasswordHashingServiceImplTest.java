@@ -0,0 +1,86 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.config.PasswordHashingProperties;
+import com.app.auth.config.SecurityConfig;
+import com.app.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceImplTest {
+
+    @Test
+    void refusesHashesBeyondThreadsAndQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(blocking, properties, meterRegistry);
+
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("one"));
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("two"));
+            while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> service.encode("three")).isInstanceOf(ServiceUnavailableException.class);
+            assertThat(meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full")
+                    .counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(blocking.matches("one", running.get(5, TimeUnit.SECONDS))).isTrue();
+            assertThat(blocking.matches("two", queued.get(5, TimeUnit.SECONDS))).isTrue();
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void upgradesLegacyAndWeakerHashesOnly() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(5);
+        PasswordEncoder encoder = new SecurityConfig(null).passwordEncoder(properties);
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(encoder, properties, new SimpleMeterRegistry());
+
+        try {
+            String legacy = new BCryptPasswordEncoder(5).encode("secret");
+            String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+            String current = service.encode("secret");
+
+            assertThat(service.matches("secret", legacy)).isTrue();
+            assertThat(service.rehashIfNeeded("secret", legacy)).hasValueSatisfying(upgraded -> {
+                assertThat(upgraded).startsWith("{bcrypt}$2a$05$");
+                assertThat(encoder.matches("secret", upgraded)).isTrue();
+            });
+            assertThat(service.rehashIfNeeded("secret", weaker)).isPresent();
+            assertThat(service.rehashIfNeeded("secret", current)).isEmpty();
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.auth.service.impl;
+
+import com.app.auth.service.RefreshTokenService;
+import com.app.auth.service.impl.RefreshTokenServiceImpl.ParsedToken;
+import com.app.common.exception.InvalidTokenException;
+import com.app.common.security.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String TOKEN = encode("family-1:secret:account-1");
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RefreshTokenServiceImpl service =
+            new RefreshTokenServiceImpl(redis, new JwtProperties(), meterRegistry);
+
+    @Test
+    void rotatesWithinTheFamilyInOneScriptCall() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        RefreshTokenService.RotatedToken rotated = service.rotateRefreshToken(TOKEN);
+
+        ParsedToken next = RefreshTokenServiceImpl.parse(rotated.refreshToken());
+        assertThat(rotated.accountId()).isEqualTo("account-1");
+        assertThat(next.familyId()).isEqualTo("family-1");
+        assertThat(next.hash()).isNotEqualTo(RefreshTokenServiceImpl.parse(TOKEN).hash());
+        verify(redis).execute(any(RedisScript.class),
+                eq(List.of("refresh:{account-1}:family:family-1", "refresh:{account-1}:families")),
+                any(Object[].class));
+    }
+
+    @Test
+    void reuseOfARotatedTokenIsRejectedAndCounted() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1L);
+
+        assertThatThrownBy(() -> service.rotateRefreshToken(TOKEN)).isInstanceOf(InvalidTokenException.class);
+        assertThat(meterRegistry.get("auth.refresh.reuse").counter().count()).isEqualTo(1);
+        assertThatThrownBy(() -> service.rotateRefreshToken(encode("no-separators")))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    private static String encode(String decoded) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes());
+    }
+}
@@ -4,7 +4,10 @@ import com.app.common.client.BaseOAuth2TokenProvider;
 import com.app.common.feign.OAuth2FeignRequestInterceptor;
 import feign.Logger;
 import feign.RequestInterceptor;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,8 +18,10 @@ public class UserServiceFeignConfig {
     private final BaseOAuth2TokenProvider tokenProvider;
 
     @Bean
-    public RequestInterceptor userServiceRequestInterceptor() {
-        return new OAuth2FeignRequestInterceptor(tokenProvider, "user-service");
+    public RequestInterceptor userServiceRequestInterceptor(ObjectProvider<Tracer> tracer,
+                                                            ObjectProvider<Propagator> propagator) {
+        return new OAuth2FeignRequestInterceptor(tokenProvider, "user-service",
+                tracer.getIfAvailable(), propagator.getIfAvailable());
     }
 
     @Bean
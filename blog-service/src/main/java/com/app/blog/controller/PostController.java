@@ -7,6 +7,7 @@ import com.app.blog.dto.post.PostUpdateRequest;
 import com.app.blog.dto.post.*;
 import com.app.blog.service.PostService;
 import com.app.common.dto.response.ApiResponse;
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.dto.response.PageResponse;
 import com.app.common.util.CurrentAccount;
 import jakarta.validation.Valid;
@@ -63,7 +64,6 @@ public class PostController {
             @Valid @RequestBody PostCreateRequest request,
             @CurrentAccount String authorId) {
 
-        log.info("Creating post by author: {}", authorId);
         PostDetailDto response = postService.createPost(request, authorId);
 
         return ResponseEntity
@@ -78,7 +78,6 @@ public class PostController {
             @Valid @RequestBody PostUpdateRequest request,
             @CurrentAccount String authorId) {
 
-        log.info("Updating post: {} by author: {}", postId, authorId);
         PostDetailDto response = postService.updatePost(postId, request, authorId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Post updated successfully"));
@@ -90,7 +89,6 @@ public class PostController {
             @PathVariable String postId,
             @CurrentAccount String authorId) {
 
-        log.info("Submitting post: {} for review by author: {}", postId, authorId);
         PostDetailDto response = postService.submitForReview(postId, authorId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Post submitted for review"));
@@ -102,7 +100,6 @@ public class PostController {
             @PathVariable String postId,
             @CurrentAccount String authorId) {
 
-        log.info("Deleting post: {} by author: {}", postId, authorId);
         postService.deletePost(postId, authorId);
 
         return ResponseEntity.ok(ApiResponse.success(null, "Post deleted successfully"));
@@ -129,7 +126,6 @@ public class PostController {
             @PathVariable String postId,
             @CurrentAccount String adminId) {
 
-        log.info("Approving post: {} by admin: {}", postId, adminId);
         PostDetailDto response = postService.approvePost(postId, adminId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Post approved successfully"));
@@ -141,7 +137,6 @@ public class PostController {
             @PathVariable String postId,
             @CurrentAccount String adminId) {
 
-        log.info("Rejecting post: {} by admin: {}", postId, adminId);
         PostDetailDto response = postService.rejectPost(postId, adminId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Post rejected"));
@@ -166,4 +161,17 @@ public class PostController {
         PageResponse<PostListItemDto> response = PageResponse.of(posts);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    /**
+     * Published posts, keyset-paginated for infinite scroll: send an empty {@code cursor}
+     * for the first page, then the returned {@code nextCursor}.
+     */
+    @GetMapping(params = {"cursor", "!keyword"})
+    public ResponseEntity<ApiResponse<CursorPageResponse<PostListItemDto>>> getPublishedPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPageResponse<PostListItemDto> response = postService.getPublishedPosts(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
\ No newline at end of file
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 
 @EqualsAndHashCode(callSuper=false)
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // Keyset pagination of published posts, see PostRepository.findPageByStatus
+        @Index(name = "idx_posts_status_created_at", columnList = "status, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,6 +17,20 @@ public interface PostRepository extends JpaRepository<Post, String> {
 
     Page<Post> findByStatus(Post.Status status, Pageable pageable);
 
+    // Keyset pagination: first page, then the rows after a cursor, newest first
+    @Query("SELECT p FROM Post p WHERE p.status = :status ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByStatus(@Param("status") Post.Status status, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.status = :status " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByStatusAfter(
+            @Param("status") Post.Status status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     Page<Post> findByAuthor(String authorId, Pageable pageable);
 
     Optional<Post> findBySlug(String slug);
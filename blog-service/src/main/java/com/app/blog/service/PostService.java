@@ -8,7 +8,9 @@ import com.app.blog.entity.Post;
 import com.app.blog.entity.Series;
 import com.app.blog.repository.PostRepository;
 import com.app.blog.repository.SeriesRepository;
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.exception.ResourceNotFoundException;
+import com.app.common.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,6 +22,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -49,6 +52,29 @@ public class PostService {
         ));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostListItemDto> getPublishedPosts(String cursor, int size) {
+        log.debug("Fetching published posts after cursor: {}", cursor);
+
+        PageCursor after = PageCursor.decode(cursor);
+        List<Post> posts = after == null
+                ? postRepository.findPageByStatus(Post.Status.PUBLISHED, PageCursor.fetchLimit(size))
+                : postRepository.findPageByStatusAfter(
+                        Post.Status.PUBLISHED, after.timestamp(), after.id(), PageCursor.fetchLimit(size));
+
+        return CursorPageResponse.of(posts, size,
+                post -> new PageCursor(post.getCreatedAt(), post.getId()),
+                post -> new PostListItemDto(
+                        post.getId(),
+                        post.getTitle(),
+                        post.getSlug(),
+                        extractExcerpt(post.getContent()),
+                        formatInstant(post.getCreatedAt()),
+                        post.getAuthor(),
+                        post.getStatus().toString()
+                ));
+    }
+
     @Transactional(readOnly = true)
     public Page<PostListItemDto> getMyPosts(String authorId, Pageable pageable) {
         log.debug("Fetching posts by author: {}", authorId);
@@ -0,0 +1,240 @@
+package com.app.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} backed by a Caffeine L1 in front of Redis.
+ * <p>
+ * Reads try L1, then Redis, then the loader; a concurrent miss on the same key within one
+ * instance loads once. Writes and evictions go to both levels and are broadcast, so the
+ * other instances drop their L1 copy. Redis failures degrade to L1 only and never fail the
+ * call. Null values are not cached.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    public static final String ALL_KEYS = "*";
+
+    /**
+     * Tells the other instances to drop an L1 entry ({@link #ALL_KEYS} for the whole cache).
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final Cache<String, Object> l1;
+    private final RedisTemplate<String, Object> redis;
+    private final String redisPrefix;
+    private final Duration l2Ttl;
+    private final InvalidationPublisher publisher;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+
+    public TwoLevelCache(String name,
+                         long l1MaxSize,
+                         Duration l1Ttl,
+                         RedisTemplate<String, Object> redis,
+                         String redisPrefix,
+                         Duration l2Ttl,
+                         InvalidationPublisher publisher,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.redis = redis;
+        this.redisPrefix = redisPrefix + name + "::";
+        this.l2Ttl = l2Ttl;
+        this.publisher = publisher;
+
+        this.l1Hits = getCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = getCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = getCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = getCounter(meterRegistry, "l2", "miss");
+        this.l2Errors = Counter.builder("app.cache.l2.errors")
+                .description("Redis operations of the two-level cache that failed and fell back to L1")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Counter sizeEvictions = evictionCounter(meterRegistry, "size");
+        Counter expirations = evictionCounter(meterRegistry, "expired");
+
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1Ttl)
+                .removalListener((String key, Object value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        sizeEvictions.increment();
+                    } else if (cause == RemovalCause.EXPIRED) {
+                        expirations.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = key.toString();
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+
+        l1Misses.increment();
+        value = readL2(cacheKey);
+        if (value != null) {
+            l1.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = key.toString();
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            l1Hits.increment();
+            return (T) value;
+        }
+
+        l1Misses.increment();
+        return (T) l1.get(cacheKey, missing -> {
+            Object cached = readL2(missing);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                T loaded = valueLoader.call();
+                if (loaded != null) {
+                    writeL2(missing, loaded);
+                }
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String cacheKey = key.toString();
+        l1.put(cacheKey, value);
+        writeL2(cacheKey, value);
+        publisher.publish(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = key.toString();
+        l1.invalidate(cacheKey);
+        try {
+            redis.delete(redisPrefix + cacheKey);
+        } catch (RuntimeException e) {
+            l2Failed("evict", e);
+        }
+        publisher.publish(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(redisPrefix + "*").count(500).build();
+            try (Cursor<String> cursor = redis.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redis.delete(keys);
+            }
+        } catch (RuntimeException e) {
+            l2Failed("clear", e);
+        }
+        publisher.publish(name, ALL_KEYS);
+    }
+
+    /**
+     * Drops an L1 entry after another instance changed it; Redis is already up to date.
+     */
+    void invalidateLocal(String key) {
+        if (ALL_KEYS.equals(key)) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(key);
+        }
+    }
+
+    private Object readL2(String key) {
+        try {
+            Object value = redis.opsForValue().get(redisPrefix + key);
+            (value != null ? l2Hits : l2Misses).increment();
+            return value;
+        } catch (RuntimeException e) {
+            l2Failed("read", e);
+            return null;
+        }
+    }
+
+    private void writeL2(String key, Object value) {
+        try {
+            redis.opsForValue().set(redisPrefix + key, value, l2Ttl);
+        } catch (RuntimeException e) {
+            l2Failed("write", e);
+        }
+    }
+
+    private void l2Failed(String operation, RuntimeException e) {
+        l2Errors.increment();
+        log.warn("Cache {}: Redis {} failed, using L1 only: {}", name, operation, e.getMessage());
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("app.cache.gets")
+                .description("Two-level cache lookups, by level and result")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("app.cache.evictions")
+                .description("L1 entries removed by size bound or expiry")
+                .tag("cache", name)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.common.cache;
+
+import com.app.common.constant.RedisConstants;
+import com.app.common.redis.RedisChannelListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Enables {@code @Cacheable}/{@code @CacheEvict} on top of {@link TwoLevelCacheManager} for
+ * services that set {@code app.cache.enabled=true} and have Redis on the classpath.
+ * Values are stored in Redis with JDK serialization, so cached types must be
+ * {@link java.io.Serializable}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+@ConditionalOnClass(name = "org.springframework.data.redis.connection.RedisConnectionFactory")
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
+public class TwoLevelCacheConfig {
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(TwoLevelCacheProperties properties,
+                                             RedisConnectionFactory connectionFactory,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        RedisTemplate<String, Object> redis = new RedisTemplate<>();
+        redis.setConnectionFactory(connectionFactory);
+        redis.setKeySerializer(StringRedisSerializer.UTF_8);
+        redis.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        redis.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(properties, redis, new StringRedisTemplate(connectionFactory),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public RedisChannelListener cacheInvalidationListener(TwoLevelCacheManager cacheManager) {
+        return new RedisChannelListener(RedisConstants.CACHE_INVALIDATION_CHANNEL, cacheManager::onInvalidation);
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.common.cache;
+
+import com.app.common.constant.RedisConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link TwoLevelCache}s on first use and relays L1 invalidations between
+ * instances over {@link RedisConstants#CACHE_INVALIDATION_CHANNEL}.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    // Identifies this instance's own broadcasts, which need no local action
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final TwoLevelCacheProperties properties;
+    private final RedisTemplate<String, Object> redis;
+    private final StringRedisTemplate pubSub;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Counter remoteInvalidations;
+
+    public TwoLevelCacheManager(TwoLevelCacheProperties properties,
+                                RedisTemplate<String, Object> redis,
+                                StringRedisTemplate pubSub,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redis = redis;
+        this.pubSub = pubSub;
+        this.meterRegistry = meterRegistry;
+        this.remoteInvalidations = Counter.builder("app.cache.invalidations.received")
+                .description("L1 invalidations received from other instances")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new TwoLevelCache(
+                cacheName,
+                properties.l1MaxSize(cacheName),
+                properties.l1Ttl(cacheName),
+                redis,
+                RedisConstants.CACHE_PREFIX,
+                properties.l2Ttl(cacheName),
+                this::publish,
+                meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Handles a message from {@link RedisConstants#CACHE_INVALIDATION_CHANNEL}.
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            remoteInvalidations.increment();
+            cache.invalidateLocal(parts[2]);
+            log.debug("Invalidated {} in cache {} on behalf of another instance", parts[2], parts[1]);
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            pubSub.convertAndSend(RedisConstants.CACHE_INVALIDATION_CHANNEL, instanceId + "|" + cacheName + "|" + key);
+        } catch (RuntimeException e) {
+            // Other instances fall back on their short L1 TTL
+            log.warn("Failed to broadcast invalidation of {} in cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+}
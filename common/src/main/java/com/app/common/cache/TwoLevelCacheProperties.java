@@ -0,0 +1,51 @@
+package com.app.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code app.cache.*}: two-level cache used by {@code @Cacheable} and friends.
+ * Each cache takes the defaults unless listed under {@code caches}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class TwoLevelCacheProperties {
+
+    private boolean enabled = false;
+
+    // In-process entries per cache
+    private long l1MaxSize = 10_000;
+
+    // Kept short: it bounds how long an instance can serve a value whose invalidation it missed
+    private Duration l1Ttl = Duration.ofSeconds(60);
+
+    private Duration l2Ttl = Duration.ofMinutes(10);
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        private Long l1MaxSize;
+        private Duration l1Ttl;
+        private Duration l2Ttl;
+    }
+
+    long l1MaxSize(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getL1MaxSize() != null ? spec.getL1MaxSize() : l1MaxSize;
+    }
+
+    Duration l1Ttl(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getL1Ttl() != null ? spec.getL1Ttl() : l1Ttl;
+    }
+
+    Duration l2Ttl(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getL2Ttl() != null ? spec.getL2Ttl() : l2Ttl;
+    }
+}
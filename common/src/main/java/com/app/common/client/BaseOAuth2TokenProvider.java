@@ -4,43 +4,81 @@ import com.app.common.dto.auth.CachedToken;
 import com.app.common.dto.auth.OAuth2ClientProperties;
 import com.app.common.dto.auth.OAuth2TokenResponse;
 import com.app.common.security.JwtTokenValidator;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-credentials token cache shared by the services' Feign clients.
+ * <p>
+ * Each cached token carries its expiry, read once when it is obtained. Once a token is
+ * into its last {@value #REFRESH_AHEAD_PERCENT}% of lifetime (at least
+ * {@value #EXPIRATION_BUFFER_SECONDS}s before expiry) a replacement is fetched in the
+ * background while callers keep using the current one. Only a caller without a usable
+ * token waits, and concurrent requests for the same audience share one call to the
+ * token endpoint.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public abstract class BaseOAuth2TokenProvider implements IBaseOAuth2TokenProvider {
 
+    private static final long EXPIRATION_BUFFER_SECONDS = 30;
+    private static final int REFRESH_AHEAD_PERCENT = 20;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
     private final OAuth2ClientProperties properties;
     private final JwtTokenValidator jwtTokenValidator;
     private final RestTemplate restTemplate;
 
     private final Map<String, CachedToken> tokenCache = new ConcurrentHashMap<>();
-    private static final long EXPIRATION_BUFFER_SECONDS = 30;
+    private final Map<String, CompletableFuture<CachedToken>> inFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService refreshExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "service-token-refresh-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    protected BaseOAuth2TokenProvider(OAuth2ClientProperties properties,
+                                      JwtTokenValidator jwtTokenValidator,
+                                      RestTemplate restTemplate) {
+        this.properties = properties;
+        this.jwtTokenValidator = jwtTokenValidator;
+        this.restTemplate = restTemplate;
+    }
 
     @Override
     public String getServiceToken(String audience) {
-
+        Instant now = Instant.now();
         CachedToken cachedToken = tokenCache.get(audience);
 
-        if (cachedToken != null && !isTokenExpiringSoon(cachedToken.getToken())) {
-            log.debug("Using cached service token for audience: {}", audience);
+        if (cachedToken != null && cachedToken.isUsable(now)) {
+            if (cachedToken.isDueForRefresh(now)) {
+                log.debug("Refreshing service token ahead of expiry for audience: {}", audience);
+                refresh(audience);
+            }
             return cachedToken.getToken();
         }
 
         log.debug("Requesting new service token for audience: {}", audience);
-        String newToken = requestServiceToken(audience);
-
-        tokenCache.put(audience, new CachedToken(newToken));
-
-        return newToken;
+        try {
+            return refresh(audience).join().getToken();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
     }
 
     @Override
@@ -49,7 +87,37 @@ public abstract class BaseOAuth2TokenProvider implements IBaseOAuth2TokenProvide
         log.debug("Cleared cached token for audience: {}", audience);
     }
 
-    private String requestServiceToken(String audience) {
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts a token request for the audience unless one is already running, and returns it.
+     */
+    private CompletableFuture<CachedToken> refresh(String audience) {
+        CompletableFuture<CachedToken> promise = new CompletableFuture<>();
+        CompletableFuture<CachedToken> running = inFlight.putIfAbsent(audience, promise);
+        if (running != null) {
+            return running;
+        }
+
+        refreshExecutor.execute(() -> {
+            try {
+                CachedToken token = requestServiceToken(audience);
+                tokenCache.put(audience, token);
+                promise.complete(token);
+            } catch (RuntimeException e) {
+                // Callers still holding a usable token keep using it, the next call retries
+                promise.completeExceptionally(e);
+            } finally {
+                inFlight.remove(audience, promise);
+            }
+        });
+        return promise;
+    }
+
+    private CachedToken requestServiceToken(String audience) {
         try {
             // Prepare request
             HttpHeaders headers = new HttpHeaders();
@@ -70,11 +138,11 @@ public abstract class BaseOAuth2TokenProvider implements IBaseOAuth2TokenProvide
                     request,
                     OAuth2TokenResponse.class
             );
-            log.info("Token endpoint response body: {}", response.getBody());
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String token = response.getBody().getAccessToken();
-                log.info("Successfully obtained service token for audience: {}", audience);
+                CachedToken token = toCachedToken(response.getBody());
+                log.info("Successfully obtained service token for audience: {}, expires at {}",
+                        audience, token.getExpiresAt());
                 return token;
             }
 
@@ -86,13 +154,20 @@ public abstract class BaseOAuth2TokenProvider implements IBaseOAuth2TokenProvide
         }
     }
 
-    private boolean isTokenExpiringSoon(String token) {
-        try {
-            long remainingSeconds = jwtTokenValidator.getRemainingTime(token);
-            return remainingSeconds <= EXPIRATION_BUFFER_SECONDS;
-        } catch (Exception e) {
-            log.warn("Failed to check token expiration, treating as expired", e);
-            return true;
+    private CachedToken toCachedToken(OAuth2TokenResponse response) {
+        String token = response.getAccessToken();
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = response.getExpiresIn() != null
+                ? issuedAt.plusSeconds(response.getExpiresIn())
+                : jwtTokenValidator.verify(token).expiresAt();
+
+        Duration lifetime = Duration.between(issuedAt, expiresAt);
+        Duration refreshAhead = lifetime.multipliedBy(REFRESH_AHEAD_PERCENT).dividedBy(100);
+        if (refreshAhead.getSeconds() < EXPIRATION_BUFFER_SECONDS) {
+            refreshAhead = Duration.ofSeconds(EXPIRATION_BUFFER_SECONDS);
         }
+
+        Instant usableUntil = expiresAt.minusSeconds(Math.min(5, Math.max(0, lifetime.getSeconds() / 10)));
+        return new CachedToken(token, expiresAt, usableUntil, expiresAt.minus(refreshAhead));
     }
 }
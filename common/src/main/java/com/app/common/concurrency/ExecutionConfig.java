@@ -0,0 +1,47 @@
+package com.app.common.concurrency;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+/**
+ * Execution model shared by the servlet services.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21 runtime, Spring Boot runs
+ * Tomcat requests, {@code @Async} and {@code @Scheduled} work on virtual threads; this adds
+ * the listeners of service-defined Kafka container factories, which Boot leaves alone. Thread
+ * counts then no longer bound concurrency, the Hikari pool and the Resilience4j bulkheads do,
+ * so size those for the load a service should take. On Java 17 the property has no effect.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor kafkaVirtualThreadsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(beanName + "-");
+                    executor.setVirtualThreads(true);
+                    factory.getContainerProperties().setListenerTaskExecutor(executor);
+                }
+                return bean;
+            }
+        };
+    }
+}
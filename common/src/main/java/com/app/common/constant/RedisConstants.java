@@ -4,6 +4,17 @@ public final class RedisConstants {
 
     public static final String OTP_REDIS_PREFIX = "otp:";
     public static final String OTP_RATE_LIMIT_KEY = "otp:ratelimit:";
-    public static final String REDIS_BLACKLIST_PREFIX = "blacklist:";
+    // Failed-login windows and lockouts, per account identifier or source address (auth-service LoginThrottleService)
+    public static final String LOGIN_FAILURES_PREFIX = "login:failures:";
+    public static final String LOGIN_LOCKOUT_PREFIX = "login:lockout:";
+    // Refresh-token families and the per-account family set, hash-tagged by account (auth-service RefreshTokenService)
+    public static final String REFRESH_TOKEN_PREFIX = "refresh:";
+    // Per-account revocation epoch: tokens of the account issued before it are revoked (epoch seconds)
+    public static final String REVOCATION_EPOCH_PREFIX = "revoke:epoch:";
+    // Pub/sub channel announcing new epochs to every verifier ("<accountId>:<epoch seconds>")
+    public static final String REVOCATION_EPOCH_CHANNEL = "channel:revocation-epoch";
+    public static final String CACHE_PREFIX = "cache:";
+    // Pub/sub channel telling every instance to drop an L1 cache entry ("<origin>|<cache>|<key>", key "*" = all)
+    public static final String CACHE_INVALIDATION_CHANNEL = "channel:cache-invalidation";
 
 }
@@ -13,6 +13,8 @@ public final class SecurityConstants {
     // Services to Services
     public static final String HEADER_USER_ROLES = "X-User-Roles";
     public static final String HEADER_USER_ID = "X-User-Id";
+    // HMAC-signed identity set by the gateway, see IdentityAssertionVerifier
+    public static final String HEADER_IDENTITY_ASSERTION = "X-Identity-Assertion";
     public static final String TOKEN_ENDPOINT = "/oauth/token";
     public static String ROLE_SERVICE = "ROLE_SERVICE";
     public static String CLIENT_CREDENTIALS = "client_credentials";
@@ -2,8 +2,23 @@ package com.app.common.dto.auth;
 
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 public class CachedToken {
     private final String token;
+    private final Instant expiresAt;
+    // A little before expiresAt, so a token handed out does not lapse in flight
+    private final Instant usableUntil;
+    // Past this point the token is still used, but a replacement is fetched in the background
+    private final Instant refreshAt;
     private final long cachedAt = System.currentTimeMillis();
+
+    public boolean isUsable(Instant now) {
+        return now.isBefore(usableUntil);
+    }
+
+    public boolean isDueForRefresh(Instant now) {
+        return !now.isBefore(refreshAt);
+    }
 }
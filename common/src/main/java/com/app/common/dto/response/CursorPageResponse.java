@@ -0,0 +1,52 @@
+package com.app.common.dto.response;
+
+import com.app.common.util.PageCursor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Unlike {@link PageResponse} there are no totals:
+ * pass {@code nextCursor} back as {@code cursor} to get the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    private boolean hasNext;
+    private boolean empty;
+
+    /**
+     * @param rows     result of a query limited by {@link PageCursor#fetchLimit(int)}
+     * @param size     requested page size
+     * @param cursorOf position of a row, used for the next cursor
+     * @param mapper   row to response item
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int size,
+                                                  Function<E, PageCursor> cursorOf,
+                                                  Function<E, T> mapper) {
+        int pageSize = PageCursor.clampSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponse.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(pageSize)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .empty(page.isEmpty())
+                .build();
+    }
+}
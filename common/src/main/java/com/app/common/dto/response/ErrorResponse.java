@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.MDC;
 
 import java.time.Instant;
 import java.util.List;
@@ -42,6 +43,7 @@ public class ErrorResponse {
                 .code(code)
                 .message(message)
                 .timestamp(Instant.now())
+                .traceId(currentTraceId())
                 .build();
     }
 
@@ -51,6 +53,7 @@ public class ErrorResponse {
                 .message(message)
                 .path(path)
                 .timestamp(Instant.now())
+                .traceId(currentTraceId())
                 .build();
     }
 
@@ -60,6 +63,12 @@ public class ErrorResponse {
                 .message(message)
                 .details(details)
                 .timestamp(Instant.now())
+                .traceId(currentTraceId())
                 .build();
     }
-}
\ No newline at end of file
+
+    // Set by the tracer for the request being handled, lets a client report quote the trace
+    private static String currentTraceId() {
+        return MDC.get("traceId");
+    }
+}
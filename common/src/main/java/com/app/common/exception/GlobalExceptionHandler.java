@@ -5,6 +5,7 @@ import com.app.common.dto.response.ApiResponse;
 import com.app.common.dto.response.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -236,6 +238,52 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(errorResponse));
     }
 
+    /**
+     * Handle TooManyRequestsException (429 Too Many Requests)
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleTooManyRequestsException(
+            TooManyRequestsException ex,
+            WebRequest request) {
+
+        log.warn("Too many requests: {} - Path: {}",
+                ex.getMessage(),
+                request.getDescription(false));
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                ErrorCode.RATE_LIMIT_EXCEEDED.getCode(),
+                ex.getMessage()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ApiResponse.error(errorResponse));
+    }
+
+    /**
+     * Handle ServiceUnavailableException (503 Service Unavailable)
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleServiceUnavailableException(
+            ServiceUnavailableException ex,
+            WebRequest request) {
+
+        log.warn("Service unavailable: {} - Path: {}",
+                ex.getMessage(),
+                request.getDescription(false));
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                ErrorCode.SERVICE_UNAVAILABLE.getCode(),
+                ex.getMessage()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ApiResponse.error(errorResponse));
+    }
+
     /**
      * Handle all other exceptions (500 Internal Server Error)
      */
@@ -258,4 +306,9 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error(errorResponse));
     }
+
+    // Rounded up: a client that waits the rounded-down value would be refused again
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
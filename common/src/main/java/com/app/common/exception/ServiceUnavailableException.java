@@ -0,0 +1,20 @@
+package com.app.common.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The service is shedding load; answered with 503 and a {@code Retry-After} header so
+ * clients back off instead of queueing behind the overload.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
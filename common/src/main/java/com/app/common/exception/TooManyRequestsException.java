@@ -0,0 +1,19 @@
+package com.app.common.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The caller has to slow down; answered with 429 and a {@code Retry-After} header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
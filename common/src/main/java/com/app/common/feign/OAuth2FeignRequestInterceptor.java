@@ -4,18 +4,32 @@ import com.app.common.client.BaseOAuth2TokenProvider;
 import com.app.common.constant.SecurityConstants;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 
+/**
+ * Adds the service token for {@code audience} to outgoing Feign requests and, when a tracer
+ * is given, the current trace context as W3C {@code traceparent} so the called service
+ * continues the caller's trace.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class OAuth2FeignRequestInterceptor implements RequestInterceptor {
 
     private final BaseOAuth2TokenProvider tokenProvider;
     private final String audience;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public OAuth2FeignRequestInterceptor(BaseOAuth2TokenProvider tokenProvider, String audience) {
+        this(tokenProvider, audience, null, null);
+    }
 
     @Override
     public void apply(RequestTemplate template) {
@@ -33,5 +47,22 @@ public class OAuth2FeignRequestInterceptor implements RequestInterceptor {
             log.error("Failed to add service token to Feign request for audience: {}", audience, e);
             throw new RuntimeException("Failed to obtain service token", e);
         }
+
+        injectTraceContext(template);
+    }
+
+    private void injectTraceContext(RequestTemplate template) {
+        if (tracer == null || propagator == null) {
+            return;
+        }
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return;
+        }
+        // Retries re-apply interceptors to the same template, replace instead of appending
+        propagator.inject(span.context(), template, (carrier, key, value) -> {
+            carrier.removeHeader(key);
+            carrier.header(key, value);
+        });
     }
-}
\ No newline at end of file
+}
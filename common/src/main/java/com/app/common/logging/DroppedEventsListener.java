@@ -0,0 +1,36 @@
+package com.app.common.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts events the Logstash appender lost: dropped because its ring buffer was full (the
+ * caller is never made to wait) or failed to send over TCP. Logback creates the listener
+ * from the XML configuration, so the counts are static and read by {@link LoggingMetrics}.
+ */
+public class DroppedEventsListener implements TcpAppenderListener<ILoggingEvent> {
+
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong SEND_FAILURES = new AtomicLong();
+
+    public static long dropped() {
+        return DROPPED.get();
+    }
+
+    public static long sendFailures() {
+        return SEND_FAILURES.get();
+    }
+
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        DROPPED.incrementAndGet();
+    }
+
+    @Override
+    public void eventSendFailure(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        SEND_FAILURES.incrementAndGet();
+    }
+}
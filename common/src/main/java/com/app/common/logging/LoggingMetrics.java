@@ -0,0 +1,28 @@
+package com.app.common.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes what the log pipeline threw away: {@code logging.events.dropped} (ring buffer
+ * full), {@code logging.events.send.failures} (TCP send failed) and
+ * {@code logging.events.sampled} (denied by {@link SamplingTurboFilter}).
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", this, metrics -> DroppedEventsListener.dropped())
+                .description("Log events dropped because the Logstash appender's buffer was full")
+                .register(registry);
+        FunctionCounter.builder("logging.events.send.failures", this, metrics -> DroppedEventsListener.sendFailures())
+                .description("Log events the Logstash appender failed to send")
+                .register(registry);
+        FunctionCounter.builder("logging.events.sampled", this, metrics -> SamplingTurboFilter.sampledOut())
+                .description("DEBUG/INFO log events denied by the per-logger rate limit")
+                .register(registry);
+    }
+}
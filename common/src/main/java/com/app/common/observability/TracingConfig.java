@@ -0,0 +1,37 @@
+package com.app.common.observability;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Tracing pieces Spring Boot does not wire for us.
+ * <p>
+ * Boot's tracing auto-configuration starts a span per HTTP request, puts {@code traceId} and
+ * {@code spanId} into the MDC (and with it into the Logstash JSON) and exports spans over
+ * OTLP ({@code management.otlp.tracing.endpoint}). Kafka observation is only switched on for
+ * the template and listener factory Boot creates itself; services that define their own
+ * get it here, so producers write a {@code traceparent} record header and listeners continue
+ * the trace from it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    @Bean
+    public static BeanPostProcessor kafkaObservationPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof KafkaTemplate<?, ?> template) {
+                    template.setObservationEnabled(true);
+                } else if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    factory.getContainerProperties().setObservationEnabled(true);
+                }
+                return bean;
+            }
+        };
+    }
+}
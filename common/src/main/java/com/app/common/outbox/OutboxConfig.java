@@ -0,0 +1,47 @@
+package com.app.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Outbox publisher and relay for services that set {@code app.outbox.enabled=true}.
+ * The service must include {@code com.app.common.outbox} in its entity scan and JPA
+ * repository packages, the table is {@code outbox_events}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxEventRepository repository,
+                                           ObjectMapper objectMapper,
+                                           ObjectProvider<Tracer> tracer,
+                                           ObjectProvider<Propagator> propagator) {
+        return new OutboxPublisher(repository, objectMapper, tracer.getIfAvailable(), propagator.getIfAvailable());
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository repository,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   ObjectProvider<Tracer> tracer,
+                                   ObjectProvider<Propagator> propagator) {
+        return new OutboxRelay(repository, kafkaTemplate, objectMapper, transactionManager, properties,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                tracer.getIfAvailable(), propagator.getIfAvailable());
+    }
+}
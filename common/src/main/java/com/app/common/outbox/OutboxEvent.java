@@ -0,0 +1,54 @@
+package com.app.common.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An event waiting to be sent to Kafka. Rows are inserted in the business transaction and
+ * deleted by {@link OutboxRelay} once the broker has acknowledged them; the id gives the
+ * order in which they are sent.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // Kafka record key, i.e. the aggregate whose events must stay in order
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    // W3C traceparent of the request that produced the event
+    @Column(name = "trace_parent")
+    private String traceParent;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
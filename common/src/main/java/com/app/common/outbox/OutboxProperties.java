@@ -0,0 +1,27 @@
+package com.app.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code app.outbox.*}: transactional outbox for domain events, see {@link OutboxPublisher}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false;
+
+    // Events read and sent per relay round
+    private int batchSize = 100;
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // How long a round waits for the broker to acknowledge its batch
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    // Postgres advisory lock key; relays sharing a database take turns on it
+    private long lockKey = 7_312_411_857_006L;
+}
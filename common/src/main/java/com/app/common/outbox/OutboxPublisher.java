@@ -0,0 +1,76 @@
+package com.app.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes domain events to the outbox table in the caller's transaction, so an event exists
+ * exactly when the change it describes was committed. {@link OutboxRelay} sends them to
+ * Kafka afterwards; the request never waits on the broker.
+ */
+@Slf4j
+public class OutboxPublisher {
+
+    static final String TRACEPARENT = "traceparent";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public OutboxPublisher(OutboxEventRepository repository, ObjectMapper objectMapper,
+                           Tracer tracer, Propagator propagator) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    /**
+     * @param key Kafka record key; events with the same key are delivered in the order published
+     */
+    public void publish(String topic, String key, Object event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be published inside a transaction");
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + event.getClass().getName(), e);
+        }
+
+        OutboxEvent saved = repository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .payloadType(event.getClass().getName())
+                .payload(payload)
+                .traceParent(currentTraceParent())
+                .createdAt(Instant.now())
+                .build());
+        log.debug("Queued {} for topic {} in outbox: id={}, key={}", saved.getPayloadType(), topic, saved.getId(), key);
+    }
+
+    private String currentTraceParent() {
+        if (tracer == null || propagator == null) {
+            return null;
+        }
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        Map<String, String> carrier = new HashMap<>();
+        propagator.inject(span.context(), carrier, Map::put);
+        return carrier.get(TRACEPARENT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.app.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends outbox events to Kafka and deletes them once acknowledged.
+ * <p>
+ * Each round runs in one transaction holding a Postgres advisory lock, so with several
+ * instances only one relays at a time and events leave in id order. A round sends the whole
+ * batch before waiting for the acks; the producer is idempotent, so records with the same key
+ * reach their partition in that order. Failed events stay in the table, together with every
+ * later event of the same key even if that one was acknowledged, and the relay stops until
+ * the next poll, retrying from the oldest. Delivery is at least once: an event whose
+ * ack arrived but whose delete did not commit is sent again, so consumers must tolerate
+ * duplicates (events carry an id for that).
+ * <p>
+ * Publishes {@code outbox.events.pending}, {@code outbox.lag} (age of the oldest unsent
+ * event) and {@code outbox.events.published}/{@code outbox.events.failed}.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository repository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestCreatedAtMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxEventRepository repository, KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                       OutboxProperties properties, MeterRegistry meterRegistry,
+                       Tracer tracer, Propagator propagator) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.tracer = tracer;
+        this.propagator = propagator;
+
+        Gauge.builder("outbox.events.pending", pending, AtomicLong::get)
+                .description("Events in the outbox not yet acknowledged by Kafka")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", this, relay -> relay.lagSeconds())
+                .description("Age of the oldest event still in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.events.failed")
+                .description("Outbox event sends that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::relay, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Outbox relay started: batchSize={}, pollInterval={}ms", properties.getBatchSize(), interval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void relay() {
+        try {
+            // Keep going while rounds come back full, a backlog drains without waiting a poll per batch
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (running && sent != null && sent == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox relay round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the number of events sent and deleted, less than a full batch when done or failing
+     */
+    private int relayBatch() {
+        if (!repository.tryAdvisoryLock(properties.getLockKey())) {
+            // Another instance relays; keep this one's gauges current rather than frozen at its last round
+            Instant oldest = repository.findOldestCreatedAt();
+            pending.set(oldest == null ? 0 : repository.count());
+            oldestCreatedAtMillis.set(oldest == null ? 0 : oldest.toEpochMilli());
+            return 0;
+        }
+
+        List<OutboxEvent> batch = repository.findBatch(PageRequest.of(0, properties.getBatchSize()));
+        pending.set(batch.size() < properties.getBatchSize() ? batch.size() : repository.count());
+        oldestCreatedAtMillis.set(batch.isEmpty() ? 0 : batch.get(0).getCreatedAt().toEpochMilli());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        // Keys with an unacknowledged event: their later events stay too, so they go out after it
+        Set<String> blockedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (event.getMessageKey() != null && blockedKeys.contains(event.getMessageKey())) {
+                log.debug("Outbox event {} held back behind an unacknowledged event with key {}",
+                        event.getId(), event.getMessageKey());
+                continue;
+            }
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failed.increment();
+                if (event.getMessageKey() != null) {
+                    blockedKeys.add(event.getMessageKey());
+                }
+                log.warn("Outbox event {} to {} not acknowledged, will retry: {}",
+                        event.getId(), event.getTopic(), e.getMessage());
+            }
+        }
+
+        repository.deleteAllByIdInBatch(acknowledged);
+        published.increment(acknowledged.size());
+        pending.addAndGet(-acknowledged.size());
+        log.debug("Relayed {} of {} outbox events", acknowledged.size(), batch.size());
+
+        // A partial round leaves the failed events for the next poll instead of spinning on them
+        return acknowledged.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        Object payload;
+        try {
+            payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getPayloadType()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(event.getTopic(), event.getMessageKey(), payload);
+        Span span = continueTrace(event);
+        if (span == null) {
+            return kafkaTemplate.send(record);
+        }
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return kafkaTemplate.send(record);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Resumes the trace of the request that produced the event, so the Kafka send and the
+     * consumer show up under it.
+     */
+    private Span continueTrace(OutboxEvent event) {
+        if (tracer == null || propagator == null || event.getTraceParent() == null) {
+            return null;
+        }
+        return propagator.extract(Map.of(OutboxPublisher.TRACEPARENT, event.getTraceParent()), Map::get)
+                .name("outbox relay")
+                .tag("messaging.destination.name", event.getTopic())
+                .start();
+    }
+
+    private double lagSeconds() {
+        long oldest = oldestCreatedAtMillis.get();
+        return oldest == 0 ? 0 : Duration.between(Instant.ofEpochMilli(oldest), Instant.now()).toMillis() / 1000.0;
+    }
+}
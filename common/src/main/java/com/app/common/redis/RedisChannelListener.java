@@ -0,0 +1,10 @@
+package com.app.common.redis;
+
+import java.util.function.Consumer;
+
+/**
+ * A pub/sub subscription registered on the shared {@link RedisListenerConfig} container;
+ * {@code handler} receives each message body as UTF-8 text.
+ */
+public record RedisChannelListener(String channel, Consumer<String> handler) {
+}
@@ -0,0 +1,37 @@
+package com.app.common.redis;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * One listener container per service for every {@link RedisChannelListener} bean, so the
+ * cache invalidation and revocation epoch subscriptions share a subscriber connection and
+ * dispatch thread instead of each opening their own. Created only where one of those
+ * features is switched on.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.data.redis.connection.RedisConnectionFactory")
+@ConditionalOnExpression("${app.cache.enabled:false} or ${app.revocation.enabled:false}")
+public class RedisListenerConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       List<RedisChannelListener> listeners) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        for (RedisChannelListener listener : listeners) {
+            container.addMessageListener(
+                    (message, pattern) -> listener.handler().accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(listener.channel()));
+        }
+        return container;
+    }
+}
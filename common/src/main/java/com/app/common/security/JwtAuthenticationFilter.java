@@ -1,13 +1,17 @@
 package com.app.common.security;
 
 import com.app.common.constant.SecurityConstants;
+import com.app.common.exception.InvalidTokenException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,16 +22,43 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Distinct role strings are few (ROLE_USER, ROLE_USER,ROLE_ADMIN, ...); the bound guards against junk
+    private static final int MAX_CACHED_ROLE_SETS = 256;
+
     private final JwtTokenValidator jwtTokenValidator;
+    private final IdentityAssertionVerifier identityAssertionVerifier;
+    private final ObservationRegistry observationRegistry;
+    // Null where app.revocation.enabled is off; bearer tokens are then checked for signature and expiry only
+    private final RevocationEpochs revocationEpochs;
+
+    private final Map<String, List<SimpleGrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtTokenValidator jwtTokenValidator,
+                                   IdentityAssertionVerifier identityAssertionVerifier,
+                                   ObservationRegistry observationRegistry,
+                                   ObjectProvider<RevocationEpochs> revocationEpochs) {
+        this(jwtTokenValidator, identityAssertionVerifier, observationRegistry, revocationEpochs.getIfAvailable());
+    }
+
+    private JwtAuthenticationFilter(JwtTokenValidator jwtTokenValidator,
+                                    IdentityAssertionVerifier identityAssertionVerifier,
+                                    ObservationRegistry observationRegistry,
+                                    RevocationEpochs revocationEpochs) {
+        this.jwtTokenValidator = jwtTokenValidator;
+        this.identityAssertionVerifier = identityAssertionVerifier;
+        this.observationRegistry = observationRegistry;
+        this.revocationEpochs = revocationEpochs;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -35,54 +66,72 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
+        Observation observation = Observation.createNotStarted("security.jwt.authentication", observationRegistry)
+                .contextualName("jwt authentication");
+        observation.observe(() -> authenticate(request, observation));
+
+        filterChain.doFilter(request, response);
+    }
+
+
+    /**
+     * Runs inside the {@code security.jwt.authentication} span, tagged with where the identity
+     * came from ({@code assertion}, {@code token} or {@code none}).
+     */
+    private void authenticate(HttpServletRequest request, Observation observation) {
+        String source = "none";
         try {
-            String userId = request.getHeader(SecurityConstants.HEADER_USER_ID);
+            IdentityAssertionVerifier.Identity identity = identityAssertionVerifier.verify(
+                    request.getHeader(SecurityConstants.HEADER_IDENTITY_ASSERTION));
 
-            if (StringUtils.hasText(userId)) {
-                authenticateFromHeaders(request, userId);
+            if (identity != null && StringUtils.hasText(identity.userId())) {
+                source = "assertion";
+                authenticateFromAssertion(request, identity);
             } else {
                 String token = extractToken(request);
                 if (StringUtils.hasText(token)) {
+                    source = "token";
                     authenticateFromToken(token, request);
                 }
             }
         } catch (Exception ex) {
+            observation.error(ex);
             log.error("Could not set user authentication in security context", ex);
         }
-
-        filterChain.doFilter(request, response);
+        observation.lowCardinalityKeyValue("source", source);
     }
 
 
-    private void authenticateFromHeaders(HttpServletRequest request, String userId) {
-        String rolesHeader = request.getHeader(SecurityConstants.HEADER_USER_ROLES);
-        List<SimpleGrantedAuthority> authorities = parseRoles(rolesHeader);
+    /**
+     * Trusts the identity the gateway verified and signed; plain identity headers are never
+     * trusted since any caller inside the network could set them.
+     */
+    private void authenticateFromAssertion(HttpServletRequest request, IdentityAssertionVerifier.Identity identity) {
+        List<SimpleGrantedAuthority> authorities = authorities(identity.roles());
 
         UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                new UsernamePasswordAuthenticationToken(identity.userId(), null, authorities);
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        log.debug("Authenticated from headers - User: {}, Roles: {}", userId, rolesHeader);
+        log.debug("Authenticated from gateway assertion - User: {}, Roles: {}", identity.userId(), identity.roles());
     }
 
 
     private void authenticateFromToken(String token, HttpServletRequest request) {
-        jwtTokenValidator.validateToken(token);
-
-        String userId = jwtTokenValidator.getUserId(token);
-        List<String> roles = jwtTokenValidator.getRoles(token);
+        VerifiedToken verifiedToken = jwtTokenValidator.verify(token);
+        if (revocationEpochs != null && revocationEpochs.isRevoked(verifiedToken.userId(), verifiedToken.issuedAt())) {
+            throw new InvalidTokenException("Token has been revoked");
+        }
 
-        List<SimpleGrantedAuthority> authorities = roles.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        List<SimpleGrantedAuthority> authorities = authorities(String.join(",", verifiedToken.roles()));
 
         UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                new UsernamePasswordAuthenticationToken(verifiedToken.userId(), null, authorities);
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        log.debug("Authenticated from JWT - User: {}, Roles: {}", userId, roles);
+        log.debug("Authenticated from JWT - User: {}, Roles: {}", verifiedToken.userId(), verifiedToken.roles());
     }
 
 
@@ -97,13 +146,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
 
-    private List<SimpleGrantedAuthority> parseRoles(String rolesHeader) {
-        if (!StringUtils.hasText(rolesHeader)) {
+    private List<SimpleGrantedAuthority> authorities(String roles) {
+        if (!StringUtils.hasText(roles)) {
             return List.of();
         }
 
-        return Stream.of(rolesHeader.split(","))
-                .map(role -> new SimpleGrantedAuthority(role.trim()))
-                .collect(Collectors.toList());
+        List<SimpleGrantedAuthority> cached = authoritiesByRoles.get(roles);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<SimpleGrantedAuthority> authorities = Stream.of(roles.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        if (authoritiesByRoles.size() < MAX_CACHED_ROLE_SETS) {
+            authoritiesByRoles.putIfAbsent(roles, authorities);
+        }
+        return authorities;
     }
 }
@@ -0,0 +1,207 @@
+package com.app.common.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verification keys indexed by {@code kid}.
+ * <p>
+ * Keys come from the configured {@code jwt.public-key} and, when {@code jwt.jwks-uri} is set,
+ * from auth-service's JWKS endpoint. The JWKS is fetched at startup and refreshed in the
+ * background; a token carrying an unknown {@code kid} triggers an early refresh (at most once
+ * per {@link #MIN_REFRESH_INTERVAL_MS}) so rotated keys are picked up without a restart.
+ * <p>
+ * Every key is pinned to one algorithm, the JWK's {@code alg} or else the one its type implies,
+ * and a token whose header names another algorithm is rejected before the signature check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtKeyRegistry extends LocatorAdapter<Key> {
+
+    private static final long MIN_REFRESH_INTERVAL_MS = 30_000L;
+
+    private final JwtProperties jwtProperties;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile Map<String, VerificationKey> jwksKeys = Map.of();
+    private volatile VerificationKey configuredKey;
+    private volatile String configuredKeyId;
+    private volatile long lastRefreshAttempt;
+
+    // Not synchronized: the refresh blocks on HTTP and would pin a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private ScheduledExecutorService scheduler;
+
+    private record VerificationKey(PublicKey key, String algorithm) {
+
+        static VerificationKey of(PublicKey key) {
+            return new VerificationKey(key, JwtSignatureAlgorithm.forKey(key).getId());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (jwtProperties.isRsaMode()) {
+            try {
+                PublicKey publicKey = JwtKeys.parsePublicKey(jwtProperties.getPublicKey());
+                configuredKey = VerificationKey.of(publicKey);
+                configuredKeyId = jwtProperties.getKeyId() != null && !jwtProperties.getKeyId().isBlank()
+                        ? jwtProperties.getKeyId()
+                        : JwtKeys.thumbprint(publicKey);
+                log.info("Loaded configured JWT public key, kid={}, alg={}", configuredKeyId, configuredKey.algorithm());
+            } catch (Exception e) {
+                log.warn("Configured JWT public key could not be loaded: {}", e.getMessage());
+            }
+        }
+
+        if (jwtProperties.isJwksMode()) {
+            long interval = jwtProperties.getJwksRefreshInterval();
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+
+        if (kid != null) {
+            VerificationKey key = findKey(kid);
+            if (key == null && refreshIfStale()) {
+                key = findKey(kid);
+            }
+            if (key != null) {
+                return checkAlgorithm(header, key);
+            }
+            // Unknown kid: fall back to the configured key and let the signature check decide
+            if (configuredKey == null) {
+                throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+            }
+        }
+
+        if (configuredKey == null) {
+            throw new IllegalStateException("No JWT verification key configured! Set jwt.publicKey or jwt.jwksUri");
+        }
+        return checkAlgorithm(header, configuredKey);
+    }
+
+    private static PublicKey checkAlgorithm(JwsHeader header, VerificationKey key) {
+        if (!key.algorithm().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException(
+                    "Token algorithm " + header.getAlgorithm() + " does not match its key (" + key.algorithm() + ")");
+        }
+        return key.key();
+    }
+
+    /**
+     * Re-fetches the JWKS. Failures keep the previously known keys.
+     */
+    public void refresh() {
+        if (!jwtProperties.isJwksMode()) {
+            return;
+        }
+        lastRefreshAttempt = System.currentTimeMillis();
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwtProperties.getJwksUri()))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                log.warn("JWKS refresh failed with status {}", response.statusCode());
+                return;
+            }
+
+            JwkSet jwkSet = Jwks.setParser().build().parse(response.body());
+            Map<String, VerificationKey> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                if (jwk.getId() == null || !(jwk.toKey() instanceof PublicKey publicKey)) {
+                    continue;
+                }
+                try {
+                    keys.put(jwk.getId(), jwk.getAlgorithm() != null
+                            ? new VerificationKey(publicKey, jwk.getAlgorithm())
+                            : VerificationKey.of(publicKey));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring JWKS key {}: {}", jwk.getId(), e.getMessage());
+                }
+            }
+
+            if (!keys.keySet().equals(jwksKeys.keySet())) {
+                log.info("JWKS updated, kids={}", keys.keySet());
+            }
+            jwksKeys = Map.copyOf(keys);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed: {}", jwtProperties.getJwksUri(), e.getMessage());
+        }
+    }
+
+    private VerificationKey findKey(String kid) {
+        VerificationKey key = jwksKeys.get(kid);
+        if (key == null && kid.equals(configuredKeyId)) {
+            key = configuredKey;
+        }
+        return key;
+    }
+
+    private boolean refreshIfStale() {
+        if (!jwtProperties.isJwksMode()
+                || System.currentTimeMillis() - lastRefreshAttempt < MIN_REFRESH_INTERVAL_MS) {
+            return false;
+        }
+        refreshLock.lock();
+        try {
+            if (System.currentTimeMillis() - lastRefreshAttempt < MIN_REFRESH_INTERVAL_MS) {
+                return false;
+            }
+            refresh();
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
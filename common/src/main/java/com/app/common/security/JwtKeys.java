@@ -0,0 +1,79 @@
+package com.app.common.security;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import lombok.NoArgsConstructor;
+
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PEM/JWK helpers shared by the token issuer (auth-service) and the verifiers.
+ * Keys are expected as base64 DER, with or without the PEM armour lines, and may be RSA,
+ * EC P-256 or Ed25519 (see {@link JwtSignatureAlgorithm}).
+ */
+@NoArgsConstructor
+public final class JwtKeys {
+
+    public static PublicKey parsePublicKey(String pem) {
+        byte[] keyBytes = decodePem(pem);
+        for (JwtSignatureAlgorithm algorithm : JwtSignatureAlgorithm.values()) {
+            try {
+                PublicKey key = KeyFactory.getInstance(algorithm.getKeyAlgorithm())
+                        .generatePublic(new X509EncodedKeySpec(keyBytes));
+                JwtSignatureAlgorithm.forKey(key);
+                return key;
+            } catch (Exception e) {
+                // Not this key type, try the next one
+            }
+        }
+        throw new IllegalStateException("Failed to load public key: not an RSA, EC P-256 or Ed25519 key");
+    }
+
+    public static PrivateKey parsePrivateKey(String pem) {
+        byte[] keyBytes = decodePem(pem);
+        for (JwtSignatureAlgorithm algorithm : JwtSignatureAlgorithm.values()) {
+            try {
+                PrivateKey key = KeyFactory.getInstance(algorithm.getKeyAlgorithm())
+                        .generatePrivate(new PKCS8EncodedKeySpec(keyBytes));
+                JwtSignatureAlgorithm.forKey(key);
+                return key;
+            } catch (Exception e) {
+                // Not this key type, try the next one
+            }
+        }
+        throw new IllegalStateException("Failed to load private key: not an RSA, EC P-256 or Ed25519 key");
+    }
+
+    /**
+     * RFC 7638 thumbprint of the key, used as {@code kid} when none is configured.
+     */
+    public static String thumbprint(PublicKey publicKey) {
+        return Jwks.builder().key(publicKey).idFromThumbprint().build().getId();
+    }
+
+    /**
+     * Public JWK as a plain map, ready to be serialised into a JWK Set document. The
+     * {@code alg} member pins the key to its algorithm for the verifiers.
+     */
+    public static Map<String, Object> toJwk(PublicKey publicKey, String keyId) {
+        Jwk<?> jwk = Jwks.builder().key(publicKey).id(keyId).publicKeyUse("sig")
+                .algorithm(JwtSignatureAlgorithm.forKey(publicKey).getId())
+                .build();
+        return new LinkedHashMap<>(jwk);
+    }
+
+    private static byte[] decodePem(String pem) {
+        String body = pem
+                .replaceAll("-----BEGIN [A-Z ]+-----", "")
+                .replaceAll("-----END [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
@@ -5,6 +5,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 @Data
 @Component
@@ -15,16 +18,39 @@ public class JwtProperties {
 
     private String privateKey;
 
+    // Algorithm auth-service signs with; must match the key pair. Verifiers derive it from the key
+    private JwtSignatureAlgorithm algorithm = JwtSignatureAlgorithm.RS256;
+
+    // kid of the configured key pair; defaults to the RFC 7638 thumbprint of the public key
+    private String keyId;
+
+    // Public keys that were rotated out but may still verify live tokens (published in the JWKS)
+    private List<String> previousPublicKeys = new ArrayList<>();
+
+    private String jwksUri;
+
+    private Long jwksRefreshInterval = 300000L;
+
     private String issuer = SecurityConstants.ISSUER;
 
+    // Shared with the gateway to verify its identity assertions; unset = always verify the bearer token
+    private String identityAssertionSecret;
+
     private Long accessTokenExpiration = SecurityConstants.ACCESS_TOKEN_EXP;
 
     private Long refreshTokenExpiration = SecurityConstants.REFRESH_TOKEN_EXP;
 
     private Long serviceTokenExpiration = SecurityConstants.SERVICE_TOKEN_EXP;
 
+    // Upper bound on verified tokens kept in memory by JwtTokenValidator; 0 disables the cache
+    private Long verifiedTokenCacheSize = 1000L;
+
     public boolean isRsaMode() {
         return publicKey != null && !publicKey.isBlank();
     }
 
+    public boolean isJwksMode() {
+        return jwksUri != null && !jwksUri.isBlank();
+    }
+
 }
\ No newline at end of file
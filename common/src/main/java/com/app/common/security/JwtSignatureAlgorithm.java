@@ -0,0 +1,112 @@
+package com.app.common.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+
+import java.security.AlgorithmParameters;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
+import java.security.interfaces.RSAKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+
+/**
+ * Signature algorithms auth-service can issue tokens with ({@code jwt.algorithm}).
+ * <p>
+ * ES256 and EdDSA (Ed25519) sign faster than RS256 and produce 64-byte signatures instead
+ * of 256 bytes, roughly a third off every access token. On the JDK's own providers they
+ * verify an order of magnitude slower than RSA, though, so switching pays off where issuing
+ * dominates or the verified-token caches absorb most checks; compare with the auth-service
+ * {@code JwtSigningBenchmark}. Verifiers do not need the setting: the algorithm follows from
+ * the key type.
+ */
+@Getter
+public enum JwtSignatureAlgorithm {
+
+    RS256("RS256", "RSA", Jwts.SIG.RS256),
+    ES256("ES256", "EC", Jwts.SIG.ES256),
+    EDDSA("EdDSA", "EdDSA", Jwts.SIG.EdDSA);
+
+    // JOSE "alg" header value
+    private final String id;
+
+    // JCA KeyFactory / KeyPairGenerator name
+    private final String keyAlgorithm;
+
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtSignatureAlgorithm(String id, String keyAlgorithm, SignatureAlgorithm signatureAlgorithm) {
+        this.id = id;
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    /**
+     * The algorithm a key is used with, by key type: RSA, EC P-256 or Ed25519.
+     *
+     * @throws IllegalArgumentException for any other key type or curve
+     */
+    public static JwtSignatureAlgorithm forKey(Key key) {
+        if (key instanceof RSAKey) {
+            return RS256;
+        }
+        if (key instanceof ECKey ecKey) {
+            // Other 256-bit curves (secp256k1) would load here and only fail when signing or verifying
+            if (!isP256(ecKey.getParams())) {
+                throw new IllegalArgumentException("Unsupported EC curve for JWT signing key, only P-256 is accepted");
+            }
+            return ES256;
+        }
+        if (key instanceof EdECKey edKey && "Ed25519".equals(edKey.getParams().getName())) {
+            return EDDSA;
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing key type: " + key.getAlgorithm());
+    }
+
+    static boolean isP256(ECParameterSpec params) {
+        ECParameterSpec p256 = P256Holder.SPEC;
+        return params.getCurve().equals(p256.getCurve())
+                && params.getGenerator().equals(p256.getGenerator())
+                && params.getOrder().equals(p256.getOrder())
+                && params.getCofactor() == p256.getCofactor();
+    }
+
+    public KeyPair generateKeyPair() {
+        try {
+            return switch (this) {
+                case RS256 -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                    generator.initialize(2048);
+                    yield generator.generateKeyPair();
+                }
+                case ES256 -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                    generator.initialize(new ECGenParameterSpec("secp256r1"));
+                    yield generator.generateKeyPair();
+                }
+                case EDDSA -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            };
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to generate " + id + " key pair", e);
+        }
+    }
+
+    private static final class P256Holder {
+
+        static final ECParameterSpec SPEC = p256();
+
+        private static ECParameterSpec p256() {
+            try {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                return parameters.getParameterSpec(ECParameterSpec.class);
+            } catch (Exception e) {
+                throw new IllegalStateException("P-256 curve parameters not available", e);
+            }
+        }
+    }
+}
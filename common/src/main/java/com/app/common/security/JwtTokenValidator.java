@@ -1,65 +1,123 @@
 package com.app.common.security;
 
 import com.app.common.exception.InvalidTokenException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
+/**
+ * Verifies tokens issued by auth-service.
+ * <p>
+ * {@link #verify(String)} checks signature and expiry once and returns every claim the
+ * services read as a {@link VerifiedToken}. Recently verified tokens are kept in a small
+ * LRU keyed by the token's SHA-256 and dropped when the token expires, so a token sent
+ * with several requests in a row is verified once. Meters: {@code jwt.verification}
+ * (duration of actual verifications, by outcome), {@code jwt.verification.failures}
+ * (by reason) and {@code jwt.verification.cache} (hit/miss).
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtTokenValidator {
 
-    private final JwtProperties jwtProperties;
+    private static final String DEFAULT_ROLE = "ROLE_SERVICE";
 
-    public void validateToken(String token) {
+    // Thread-safe; keys are resolved per token by kid through the registry
+    private final JwtParser jwtParser;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    public JwtTokenValidator(JwtKeyRegistry keyRegistry,
+                             JwtProperties jwtProperties,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRegistry)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, jwtProperties.getVerifiedTokenCacheSize()))
+                .expireAfter(new TokenExpiry(Duration.ofMillis(jwtProperties.getAccessTokenExpiration())))
+                .build();
+
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.successTimer = verificationTimer("success");
+        this.failureTimer = verificationTimer("failure");
+        this.cacheHits = cacheCounter("hit");
+        this.cacheMisses = cacheCounter("miss");
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims.
+     *
+     * @throws InvalidTokenException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw failure("empty", "Token claims are empty", null);
+        }
+
+        String cacheKey = hashToken(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                cacheHits.increment();
+                return cached;
+            }
+            verifiedTokens.invalidate(cacheKey);
+            throw failure("expired", "Token expired", null);
+        }
+
+        cacheMisses.increment();
+        long start = System.nanoTime();
         try {
-            getClaims(token);
-        } catch (SignatureException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-            throw new InvalidTokenException("Invalid token signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            throw new InvalidTokenException("Malformed token");
-        } catch (ExpiredJwtException ex) {
-            log.error("JWT token is expired: {}", ex.getMessage());
-            throw new InvalidTokenException("Token expired");
-        } catch (UnsupportedJwtException ex) {
-            log.error("JWT token is unsupported: {}", ex.getMessage());
-            throw new InvalidTokenException("Unsupported token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-            throw new InvalidTokenException("Token claims are empty");
+            VerifiedToken verified = parse(token);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            verifiedTokens.put(cacheKey, verified);
+            return verified;
+        } catch (InvalidTokenException e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
         }
     }
 
+    public void validateToken(String token) {
+        verify(token);
+    }
+
+    /**
+     * Raw claims, parsed and verified on every call; prefer {@link #verify(String)}.
+     */
     public Claims getClaims(String token) {
         try {
-            if (jwtProperties.isRsaMode()) {
-                log.debug("Validating token with RSA public key");
-                return Jwts.parser()
-                        .verifyWith(getPublicKey())
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
-            } else {
-                throw new IllegalStateException("No JWT verification key configured! Set either jwt.publicKey (RSA) or jwt.secret (HMAC)");
-            }
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             log.error("Failed to extract claims from token: {}", e.getMessage());
             throw new InvalidTokenException("Failed to extract token claims");
@@ -68,87 +126,161 @@ public class JwtTokenValidator {
 
 
     public String getUserId(String token) {
-        return getClaims(token).getSubject();
+        return verify(token).userId();
     }
 
     public List<String> getRoles(String token) {
-        Claims claims = getClaims(token);
-        String rolesString = claims.get("roles", String.class);
-
-        if (rolesString == null || rolesString.isBlank()) {
-            log.warn("⚠️ No roles in token, using default ROLE_SERVICE");
-            return List.of("ROLE_SERVICE");
-        }
-
-        return Arrays.stream(rolesString.split(","))
-                .map(String::trim)
-                .filter(role -> !role.isEmpty())
-                .collect(Collectors.toList());
+        return verify(token).roles();
     }
 
     public String getRolesAsString(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("roles", String.class);
+        return String.join(",", verify(token).roles());
     }
 
     public String getTokenType(String token) {
-        return getClaims(token).get("token_type", String.class);
+        return verify(token).tokenType();
     }
 
     public String getJti(String token) {
-        return getClaims(token).getId();
+        return verify(token).jti();
     }
 
     public String getEmail(String token) {
-        return getClaims(token).get("email", String.class);
+        return verify(token).email();
     }
 
     public Date getExpirationDate(String token) {
-        return getClaims(token).getExpiration();
+        Instant expiresAt = verify(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = getExpirationDate(token);
-            return expiration.before(new Date());
+            return verify(token).isExpired();
         } catch (Exception e) {
             return true;
         }
     }
 
     public long getRemainingTime(String token) {
-        Date expiration = getExpirationDate(token);
-        long now = System.currentTimeMillis();
-        long expirationTime = expiration.getTime();
-        return Math.max(0, (expirationTime - now) / 1000);
+        return verify(token).remainingSeconds();
     }
 
     public String getClientId(String token) {
-        return getClaims(token).get("client_id", String.class);
+        return verify(token).clientId();
     }
 
     public String getScope(String token) {
-        return getClaims(token).get("scope", String.class);
+        return verify(token).scope();
     }
 
     public String getAudience(String token) {
         return getClaims(token).getAudience().iterator().next();
     }
 
-    private PublicKey getPublicKey() {
+    private VerifiedToken parse(String token) {
         try {
-            String publicKeyPEM = jwtProperties.getPublicKey()
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s", "");
-
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyPEM);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePublic(spec);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to load RSA public key", e);
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    parseRoles(claims.get("roles", String.class)),
+                    claims.get("email", String.class),
+                    claims.getId(),
+                    claims.get("token_type", String.class),
+                    claims.get("client_id", String.class),
+                    claims.get("scope", String.class),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration())
+            );
+        } catch (SignatureException ex) {
+            throw failure("signature", "Invalid token signature", ex);
+        } catch (MalformedJwtException ex) {
+            throw failure("malformed", "Malformed token", ex);
+        } catch (ExpiredJwtException ex) {
+            throw failure("expired", "Token expired", ex);
+        } catch (UnsupportedJwtException ex) {
+            throw failure("unsupported", "Unsupported token", ex);
+        } catch (IllegalArgumentException ex) {
+            throw failure("empty", "Token claims are empty", ex);
+        } catch (JwtException ex) {
+            throw failure("invalid", "Failed to extract token claims", ex);
+        }
+    }
+
+    private static List<String> parseRoles(String rolesString) {
+        if (rolesString == null || rolesString.isBlank()) {
+            log.warn("⚠️ No roles in token, using default {}", DEFAULT_ROLE);
+            return List.of(DEFAULT_ROLE);
+        }
+
+        return Arrays.stream(rolesString.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .toList();
+    }
+
+    private InvalidTokenException failure(String reason, String message, Exception cause) {
+        failureCounters.computeIfAbsent(reason, key -> Counter.builder("jwt.verification.failures")
+                        .description("Rejected tokens, by reason")
+                        .tag("reason", key)
+                        .register(meterRegistry))
+                .increment();
+        if (cause != null) {
+            log.error("{}: {}", message, cause.getMessage());
+        } else {
+            log.debug("{}", message);
+        }
+        return new InvalidTokenException(message);
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder("jwt.verification")
+                .description("Time spent verifying token signatures (cache misses only)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter cacheCounter(String result) {
+        return Counter.builder("jwt.verification.cache")
+                .description("Lookups in the verified-token cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record TokenExpiry(Duration fallback) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return fallback.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-}
\ No newline at end of file
+}
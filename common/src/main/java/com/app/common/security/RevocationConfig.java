@@ -0,0 +1,30 @@
+package com.app.common.security;
+
+import com.app.common.constant.RedisConstants;
+import com.app.common.redis.RedisChannelListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Checks tokens against {@link RevocationEpochs} in services that set
+ * {@code app.revocation.enabled=true} and have Redis on the classpath.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.data.redis.connection.RedisConnectionFactory")
+@ConditionalOnProperty(prefix = "app.revocation", name = "enabled", havingValue = "true")
+public class RevocationConfig {
+
+    @Bean
+    public RevocationEpochs revocationEpochs(RedisConnectionFactory connectionFactory, JwtProperties jwtProperties) {
+        return new RevocationEpochs(new StringRedisTemplate(connectionFactory), jwtProperties);
+    }
+
+    @Bean
+    public RedisChannelListener revocationEpochListener(RevocationEpochs revocationEpochs) {
+        return new RedisChannelListener(RedisConstants.REVOCATION_EPOCH_CHANNEL, revocationEpochs::onMessage);
+    }
+}
@@ -0,0 +1,188 @@
+package com.app.common.security;
+
+import com.app.common.constant.RedisConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account revocation epochs: every token of an account issued before its epoch is invalid.
+ * <p>
+ * One Redis key per account ({@code revoke:epoch:<accountId>}, epoch seconds) replaces a
+ * blacklist entry per token, so logging out everywhere, changing a password or disabling an
+ * account costs one write however many tokens are out there, and checking a token is one
+ * local map lookup against its {@code iat}. Epochs are seeded from Redis at startup,
+ * re-seeded every {@link #RESYNC_INTERVAL} and kept current by the messages on
+ * {@link RedisConstants#REVOCATION_EPOCH_CHANNEL}. Until the first seed completes, lookups
+ * read Redis. An epoch, locally and in Redis, is kept only as long as an access token
+ * issued before it could still be valid; refresh tokens are revoked separately, by deleting
+ * their families.
+ * <p>
+ * {@code iat} has second precision, so a token issued within the same second before the
+ * revocation stays valid.
+ */
+@Slf4j
+public class RevocationEpochs {
+
+    private static final Duration RESYNC_INTERVAL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration accessTokenLifetime;
+    // No access token issued before the epoch outlives it by more than its lifetime
+    private final Duration keyTtl;
+
+    // accountId -> epoch seconds
+    private final Cache<String, Long> epochs;
+
+    private volatile boolean synced;
+    private ScheduledExecutorService scheduler;
+
+    public RevocationEpochs(StringRedisTemplate redisTemplate, JwtProperties jwtProperties) {
+        this.redisTemplate = redisTemplate;
+        this.accessTokenLifetime = Duration.ofMillis(jwtProperties.getAccessTokenExpiration());
+        this.keyTtl = accessTokenLifetime;
+        this.epochs = Caffeine.newBuilder()
+                .expireAfter(new EpochExpiry(accessTokenLifetime))
+                .build();
+    }
+
+    /**
+     * Whether a token of the account issued at {@code issuedAt} has been revoked.
+     */
+    public boolean isRevoked(String accountId, Instant issuedAt) {
+        if (accountId == null || issuedAt == null) {
+            return false;
+        }
+        Long epoch = epochs.getIfPresent(accountId);
+        if (epoch == null && !synced) {
+            epoch = load(accountId);
+        }
+        return epoch != null && issuedAt.getEpochSecond() < epoch;
+    }
+
+    /**
+     * Revokes every token of the account issued so far.
+     */
+    public void revokeAll(String accountId) {
+        long epoch = Instant.now().getEpochSecond();
+        redisTemplate.opsForValue().set(RedisConstants.REVOCATION_EPOCH_PREFIX + accountId,
+                String.valueOf(epoch), keyTtl);
+        epochs.put(accountId, epoch);
+        try {
+            redisTemplate.convertAndSend(RedisConstants.REVOCATION_EPOCH_CHANNEL, accountId + ":" + epoch);
+        } catch (Exception e) {
+            // The key is already in Redis; other instances pick it up on their next resync
+            log.warn("Failed to publish revocation epoch for account {}: {}", accountId, e.getMessage());
+        }
+    }
+
+    void onMessage(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+            return;
+        }
+        long epoch;
+        try {
+            epoch = Long.parseLong(message.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+            return;
+        }
+        epochs.asMap().merge(message.substring(0, separator), epoch, Math::max);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-epoch-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::resync, 0, RESYNC_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void resync() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(RedisConstants.REVOCATION_EPOCH_PREFIX + "*")
+                .count(1000)
+                .build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            int count = 0;
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String value = redisTemplate.opsForValue().get(key);
+                if (value != null) {
+                    epochs.asMap().merge(key.substring(RedisConstants.REVOCATION_EPOCH_PREFIX.length()),
+                            Long.parseLong(value), Math::max);
+                    count++;
+                }
+            }
+            if (!synced) {
+                log.info("Revocation epochs synced from Redis, {} account(s)", count);
+            }
+            synced = true;
+        } catch (Exception e) {
+            synced = false;
+            log.warn("Revocation epoch sync failed, falling back to Redis lookups: {}", e.getMessage());
+        }
+    }
+
+    private Long load(String accountId) {
+        try {
+            String value = redisTemplate.opsForValue().get(RedisConstants.REVOCATION_EPOCH_PREFIX + accountId);
+            if (value == null) {
+                return null;
+            }
+            long epoch = Long.parseLong(value);
+            epochs.put(accountId, epoch);
+            return epoch;
+        } catch (Exception e) {
+            log.warn("Failed to read revocation epoch for account {}: {}", accountId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tokens revoked by an epoch were all issued before it, so none outlives epoch + access token lifetime.
+     */
+    private record EpochExpiry(Duration accessTokenLifetime) implements Expiry<String, Long> {
+
+        @Override
+        public long expireAfterCreate(String accountId, Long epoch, long currentTime) {
+            Instant relevantUntil = Instant.ofEpochSecond(epoch).plus(accessTokenLifetime);
+            Duration remaining = Duration.between(Instant.now(), relevantUntil);
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String accountId, Long epoch, long currentTime, long currentDuration) {
+            return expireAfterCreate(accountId, epoch, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String accountId, Long epoch, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.common.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature has already been verified.
+ * Produced once per token by {@link JwtTokenValidator#verify(String)}, so callers read
+ * every claim they need without parsing the token again.
+ */
+public record VerifiedToken(
+        String userId,
+        List<String> roles,
+        String email,
+        String jti,
+        String tokenType,
+        String clientId,
+        String scope,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    public long remainingSeconds() {
+        if (expiresAt == null) {
+            return 0;
+        }
+        return Math.max(0, expiresAt.getEpochSecond() - Instant.now().getEpochSecond());
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.common.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list ordered by {@code (timestamp DESC, id DESC)}.
+ * <p>
+ * Clients only see the opaque {@link #encode() encoded} form and hand it back unchanged to
+ * get the next page. The next page is fetched with
+ * {@code WHERE timestamp < :timestamp OR (timestamp = :timestamp AND id < :id)}, which walks
+ * the index instead of counting and skipping rows like an {@code OFFSET} does.
+ */
+public record PageCursor(Instant timestamp, String id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + timestamp.getEpochSecond() + SEPARATOR + timestamp.getNano()
+                + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a blank cursor (first page)
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0]) || parts[3].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            return new PageCursor(timestamp, parts[3]);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Page request for a keyset query: one row more than the page size, to tell whether a
+     * next page exists, and no count query. The order comes from the query itself.
+     */
+    public static Pageable fetchLimit(int size) {
+        return PageRequest.of(0, clampSize(size) + 1);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheTest {
+
+    private RedisTemplate<String, Object> redis;
+    private ValueOperations<String, Object> values;
+    private StringRedisTemplate pubSub;
+    private TwoLevelCacheManager manager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(RedisTemplate.class);
+        values = mock(ValueOperations.class);
+        pubSub = mock(StringRedisTemplate.class);
+        when(redis.opsForValue()).thenReturn(values);
+        manager = new TwoLevelCacheManager(new TwoLevelCacheProperties(), redis, pubSub, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void loadsOnceThenServesFromL1() {
+        AtomicInteger loads = new AtomicInteger();
+        TwoLevelCache cache = (TwoLevelCache) manager.getCache("users");
+
+        assertThat(cache.get("42", () -> "user-" + loads.incrementAndGet())).isEqualTo("user-1");
+        assertThat(cache.get("42", () -> "user-" + loads.incrementAndGet())).isEqualTo("user-1");
+
+        assertThat(loads).hasValue(1);
+        verify(values).set(eq("cache:users::42"), eq("user-1"), any(Duration.class));
+    }
+
+    @Test
+    void fallsBackToL2BeforeLoading() {
+        when(values.get("cache:users::42")).thenReturn("from-redis");
+        TwoLevelCache cache = (TwoLevelCache) manager.getCache("users");
+
+        assertThat(cache.get("42", () -> "from-db")).isEqualTo("from-redis");
+    }
+
+    @Test
+    void redisOutageDegradesToL1() {
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        TwoLevelCache cache = (TwoLevelCache) manager.getCache("users");
+
+        assertThat(cache.get("42", () -> "from-db")).isEqualTo("from-db");
+        assertThat(cache.get("42", () -> "reloaded")).isEqualTo("from-db");
+    }
+
+    @Test
+    void evictionIsBroadcastAndRemoteInvalidationDropsL1() {
+        TwoLevelCache cache = (TwoLevelCache) manager.getCache("users");
+        cache.put("42", "v1");
+        verify(pubSub).convertAndSend(eq("channel:cache-invalidation"), anyString());
+
+        // Another instance changed the entry: drop the local copy
+        manager.onInvalidation("another-instance|users|42");
+        assertThat(cache.get("42")).isNull();
+
+        cache.put("7", "v2");
+        manager.onInvalidation("another-instance|users|*");
+        assertThat(cache.get("7")).isNull();
+    }
+}
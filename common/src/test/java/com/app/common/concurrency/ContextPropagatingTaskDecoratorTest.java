@@ -0,0 +1,55 @@
+package com.app.common.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextPropagatingTaskDecoratorTest {
+
+    private final ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void runsTaskWithSubmittersMdcAndSecurityContext() throws Exception {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("42", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put("traceId", "abc123");
+
+        AtomicReference<String> traceId = new AtomicReference<>();
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        Runnable task = decorator.decorate(() -> {
+            traceId.set(MDC.get("traceId"));
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+        });
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertThat(traceId).hasValue("abc123");
+        assertThat(seen).hasValue(authentication);
+    }
+
+    @Test
+    void restoresExecutingThreadsContextAfterwards() {
+        Runnable task = decorator.decorate(() -> MDC.put("traceId", "inside"));
+        MDC.put("traceId", "outside");
+
+        task.run();
+
+        assertThat(MDC.get("traceId")).isEqualTo("outside");
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = context.getLogger("com.app.test.Sampled");
+        logger.setLevel(Level.DEBUG);
+        filter.setMaxPerSecond(3);
+        filter.start();
+    }
+
+    @Test
+    void deniesInfoBeyondTheBudgetButNeverWarnings() {
+        long before = SamplingTurboFilter.sampledOut();
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (decide(Level.INFO) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        // A second boundary in the middle of the loop can grant one more budget
+        assertThat(passed).isBetween(3, 6);
+        assertThat(SamplingTurboFilter.sampledOut() - before).isEqualTo(10 - passed);
+        assertThat(decide(Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void enabledChecksAndDisabledLevelsDoNotUseTheBudget() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        }
+
+        assertThat(decide(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    private FilterReply decide(Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{1}, null);
+    }
+}
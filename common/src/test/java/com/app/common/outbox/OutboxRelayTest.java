@@ -0,0 +1,102 @@
+package com.app.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(repository, kafkaTemplate, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                new OutboxProperties(), meterRegistry, null, null);
+    }
+
+    @Test
+    void deletesOnlyAcknowledgedEvents() {
+        when(repository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(repository.findBatch(any(Pageable.class))).thenReturn(List.of(event(1L, "a"), event(2L, "b"), event(3L, "a")));
+        doReturn(CompletableFuture.completedFuture(null)).when(kafkaTemplate).send(argThat(hasKey("a")));
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .when(kafkaTemplate).send(argThat(hasKey("b")));
+
+        relay.relay();
+
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 3L));
+    }
+
+    @Test
+    void keepsLaterEventsOfAKeyBehindAnUnacknowledgedOne() {
+        when(repository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(repository.findBatch(any(Pageable.class))).thenReturn(List.of(event(1L, "a"), event(2L, "a"), event(3L, "b")));
+        doReturn(CompletableFuture.completedFuture(null)).when(kafkaTemplate).send(any(ProducerRecord.class));
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("request timed out")))
+                .when(kafkaTemplate).send(argThat(hasPayload("event-1")));
+
+        relay.relay();
+
+        verify(repository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    void skipsRoundButRefreshesGaugesWhenAnotherInstanceHoldsTheLock() {
+        when(repository.tryAdvisoryLock(anyLong())).thenReturn(false);
+        when(repository.findOldestCreatedAt()).thenReturn(Instant.now().minusSeconds(30));
+        when(repository.count()).thenReturn(7L);
+
+        relay.relay();
+
+        verify(repository, never()).findBatch(any(Pageable.class));
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        assertThat(meterRegistry.get("outbox.events.pending").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("outbox.lag").gauge().value()).isGreaterThanOrEqualTo(30);
+    }
+
+    private static OutboxEvent event(long id, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("account-events")
+                .messageKey(key)
+                .payloadType(String.class.getName())
+                .payload("\"event-" + id + "\"")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static ArgumentMatcher<ProducerRecord<String, Object>> hasPayload(String payload) {
+        return record -> record != null && payload.equals(record.value());
+    }
+
+    private static ArgumentMatcher<ProducerRecord<String, Object>> hasKey(String key) {
+        return record -> record != null && key.equals(record.key());
+    }
+}
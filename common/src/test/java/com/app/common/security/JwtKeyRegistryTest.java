@@ -0,0 +1,119 @@
+package com.app.common.security;
+
+import com.app.common.exception.InvalidTokenException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.EllipticCurve;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRegistryTest {
+
+    @ParameterizedTest
+    @EnumSource(JwtSignatureAlgorithm.class)
+    void verifiesTokensSignedWithEachAlgorithm(JwtSignatureAlgorithm algorithm) {
+        KeyPair keyPair = algorithm.generateKeyPair();
+        JwtTokenValidator validator = validator(keyPair.getPublic());
+
+        String token = Jwts.builder()
+                .subject("42")
+                .claim("roles", "ROLE_USER")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(JwtKeys.parsePrivateKey(encode(keyPair.getPrivate().getEncoded())),
+                        algorithm.getSignatureAlgorithm())
+                .compact();
+
+        assertThat(validator.verify(token).userId()).isEqualTo("42");
+        Map<String, Object> jwk = JwtKeys.toJwk(keyPair.getPublic(), "kid-1");
+        assertThat(jwk).containsEntry("alg", algorithm.getId()).containsEntry("kid", "kid-1");
+    }
+
+    @Test
+    void rejectsTokenWhoseAlgorithmDoesNotMatchTheKey() {
+        KeyPair keyPair = JwtSignatureAlgorithm.RS256.generateKeyPair();
+        JwtTokenValidator validator = validator(keyPair.getPublic());
+
+        // Same RSA key, different algorithm than the key is pinned to
+        String token = Jwts.builder()
+                .subject("42")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.PS256)
+                .compact();
+
+        assertThatThrownBy(() -> validator.verify(token)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void rejectsEcKeysOffP256() {
+        ECPoint generator = new ECPoint(
+                new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16),
+                new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16));
+        ECParameterSpec secp256k1 = new ECParameterSpec(
+                new EllipticCurve(new ECFieldFp(new BigInteger(
+                        "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16)),
+                        BigInteger.ZERO, BigInteger.valueOf(7)),
+                generator,
+                new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16),
+                1);
+        ECPublicKey key = new ECPublicKey() {
+            @Override
+            public ECPoint getW() {
+                return generator;
+            }
+
+            @Override
+            public ECParameterSpec getParams() {
+                return secp256k1;
+            }
+
+            @Override
+            public String getAlgorithm() {
+                return "EC";
+            }
+
+            @Override
+            public String getFormat() {
+                return "X.509";
+            }
+
+            @Override
+            public byte[] getEncoded() {
+                return new byte[0];
+            }
+        };
+
+        assertThatThrownBy(() -> JwtSignatureAlgorithm.forKey(key)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(JwtSignatureAlgorithm.forKey(JwtSignatureAlgorithm.ES256.generateKeyPair().getPublic()))
+                .isEqualTo(JwtSignatureAlgorithm.ES256);
+    }
+
+    private static JwtTokenValidator validator(PublicKey publicKey) {
+        JwtProperties properties = new JwtProperties();
+        properties.setPublicKey(encode(publicKey.getEncoded()));
+        JwtKeyRegistry registry = new JwtKeyRegistry(properties);
+        registry.init();
+        return new JwtTokenValidator(registry, properties,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static String encode(byte[] key) {
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
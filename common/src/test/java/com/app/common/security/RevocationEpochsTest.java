@@ -0,0 +1,48 @@
+package com.app.common.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevocationEpochsTest {
+
+    private ValueOperations<String, String> values;
+    private RevocationEpochs revocationEpochs;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        revocationEpochs = new RevocationEpochs(redis, new JwtProperties());
+    }
+
+    @Test
+    void revokesOnlyTokensIssuedBeforeTheAnnouncedEpoch() {
+        Instant epoch = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        revocationEpochs.onMessage("account-1:" + epoch.getEpochSecond());
+        revocationEpochs.onMessage("malformed");
+        revocationEpochs.onMessage("account-2:not-a-number");
+
+        assertThat(revocationEpochs.isRevoked("account-1", epoch.minusSeconds(10))).isTrue();
+        assertThat(revocationEpochs.isRevoked("account-1", epoch)).isFalse();
+        assertThat(revocationEpochs.isRevoked("account-2", epoch.minusSeconds(10))).isFalse();
+    }
+
+    @Test
+    void readsEpochFromRedisUntilSynced() {
+        long epoch = Instant.now().getEpochSecond();
+        when(values.get("revoke:epoch:account-1")).thenReturn(String.valueOf(epoch));
+
+        assertThat(revocationEpochs.isRevoked("account-1", Instant.ofEpochSecond(epoch - 1))).isTrue();
+        assertThat(revocationEpochs.isRevoked("account-1", Instant.ofEpochSecond(epoch + 1))).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.common.util;
+
+import com.app.common.dto.response.CursorPageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsWithNanosecondPrecision() {
+        PageCursor cursor = new PageCursor(Instant.parse("2024-05-01T10:15:30.123456789Z"), "3f2c:uuid");
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode("djI6MTox"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageUsesExtraRowOnlyToDetectNextPage() {
+        Instant now = Instant.now();
+        List<PageCursor> rows = List.of(
+                new PageCursor(now, "c"), new PageCursor(now, "b"), new PageCursor(now, "a"));
+
+        CursorPageResponse<String> page = CursorPageResponse.of(rows, 2, row -> row, PageCursor::id);
+
+        assertThat(page.getContent()).containsExactly("c", "b");
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor()).id()).isEqualTo("b");
+
+        CursorPageResponse<String> last = CursorPageResponse.of(rows.subList(0, 2), 2, row -> row, PageCursor::id);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+}
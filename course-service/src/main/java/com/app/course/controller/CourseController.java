@@ -1,6 +1,7 @@
 package com.app.course.controller;
 
 import com.app.common.dto.response.ApiResponse;
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.dto.response.PageResponse;
 import com.app.common.util.CurrentAccount;
 import com.app.course.dto.course.*;
@@ -43,6 +44,22 @@ public class CourseController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Get published courses by cursor (public access, infinite scroll):
+     * empty {@code cursor} for the first page, then the returned {@code nextCursor}
+     */
+    @GetMapping(params = {"cursor", "!keyword"})
+    public ResponseEntity<ApiResponse<CursorPageResponse<CourseListItem>>> getPublishedCoursesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Fetching published courses, cursor: {}, size: {}", cursor, size);
+
+        CursorPageResponse<CourseListItem> response = courseService.getPublishedCourses(cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Get course by slug (public access)
      */
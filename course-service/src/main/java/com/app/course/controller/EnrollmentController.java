@@ -1,6 +1,7 @@
 package com.app.course.controller;
 
 import com.app.common.dto.response.ApiResponse;
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.dto.response.PageResponse;
 import com.app.common.util.CurrentAccount;
 import com.app.course.dto.enrollment.CourseProgressDetail;
@@ -65,6 +66,24 @@ public class EnrollmentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Get my enrollments by cursor (authenticated users):
+     * empty {@code cursor} for the first page, then the returned {@code nextCursor}
+     */
+    @GetMapping(value = "/me", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<EnrollmentDetail>>> getMyEnrollmentsByCursor(
+            @CurrentAccount String accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Fetching enrollments for user: {}, cursor: {}", accountId, cursor);
+
+        CursorPageResponse<EnrollmentDetail> response = enrollmentService.getMyEnrollments(accountId, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Get course progress (authenticated users)
      */
@@ -9,7 +9,10 @@ import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        // Keyset pagination of the catalog, see CourseRepository.findPageByStatus
+        @Index(name = "idx_courses_status_created_at", columnList = "status, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -12,7 +12,11 @@ import java.util.List;
 @Entity
 @Table(
         name = "enrollments",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "course_id"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "course_id"}),
+        indexes = {
+                // Keyset pagination of a user's enrollments, see EnrollmentRepository.findPageByAccountId
+                @Index(name = "idx_enrollments_account_enrolled_at", columnList = "account_id, enrolled_at, id")
+        }
 )
 @Data
 @Builder
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,6 +21,20 @@ public interface CourseRepository extends JpaRepository<Course, String> {
 
     Page<Course> findByStatus(Course.CourseStatus status, Pageable pageable);
 
+    // Keyset pagination: first page, then the rows after a cursor, newest first
+    @Query("SELECT c FROM Course c WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<Course> findPageByStatus(@Param("status") Course.CourseStatus status, Pageable pageable);
+
+    @Query("SELECT c FROM Course c WHERE c.status = :status " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Course> findPageByStatusAfter(
+            @Param("status") Course.CourseStatus status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     @Query("SELECT c FROM Course c WHERE c.status = :status " +
             "AND (LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,6 +21,20 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, String>
 
     Page<Enrollment> findByAccountId(String accountId, Pageable pageable);
 
+    // Keyset pagination: first page, then the rows after a cursor, most recent enrollment first
+    @Query("SELECT e FROM Enrollment e WHERE e.accountId = :accountId ORDER BY e.enrolledAt DESC, e.id DESC")
+    List<Enrollment> findPageByAccountId(@Param("accountId") String accountId, Pageable pageable);
+
+    @Query("SELECT e FROM Enrollment e WHERE e.accountId = :accountId " +
+            "AND (e.enrolledAt < :enrolledAt OR (e.enrolledAt = :enrolledAt AND e.id < :id)) " +
+            "ORDER BY e.enrolledAt DESC, e.id DESC")
+    List<Enrollment> findPageByAccountIdAfter(
+            @Param("accountId") String accountId,
+            @Param("enrolledAt") Instant enrolledAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     Page<Enrollment> findByCourseId(String courseId, Pageable pageable);
 
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
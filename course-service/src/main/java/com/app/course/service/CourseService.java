@@ -1,5 +1,6 @@
 package com.app.course.service;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.course.dto.course.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +12,11 @@ public interface CourseService {
      */
     Page<CourseListItem> getPublishedCourses(Pageable pageable, String keyword);
 
+    /**
+     * Get published courses after a cursor, newest first (public access)
+     */
+    CursorPageResponse<CourseListItem> getPublishedCourses(String cursor, int size);
+
     /**
      * Get course by slug (public access)
      */
@@ -1,5 +1,6 @@
 package com.app.course.service;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.course.dto.enrollment.CourseProgressDetail;
 import com.app.course.dto.enrollment.EnrollmentDetail;
 import com.app.course.dto.enrollment.EnrollmentRequest;
@@ -19,6 +20,11 @@ public interface EnrollmentService {
      */
     Page<EnrollmentDetail> getMyEnrollments(String accountId, Pageable pageable);
 
+    /**
+     * Get user's enrollments after a cursor, most recent first
+     */
+    CursorPageResponse<EnrollmentDetail> getMyEnrollments(String accountId, String cursor, int size);
+
     /**
      * Get course progress for user
      */
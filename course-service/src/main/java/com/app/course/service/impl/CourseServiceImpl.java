@@ -1,6 +1,8 @@
 package com.app.course.service.impl;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.exception.ResourceNotFoundException;
+import com.app.common.util.PageCursor;
 import com.app.course.dto.course.*;
 import com.app.course.dto.lecture.LectureListItem;
 import com.app.course.dto.section.SectionWithLectures;
@@ -53,6 +55,22 @@ public class CourseServiceImpl implements CourseService {
         return courses.map(this::mapToCourseListItem);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseListItem> getPublishedCourses(String cursor, int size) {
+        log.debug("Fetching published courses after cursor: {}", cursor);
+
+        PageCursor after = PageCursor.decode(cursor);
+        List<Course> courses = after == null
+                ? courseRepository.findPageByStatus(Course.CourseStatus.PUBLISHED, PageCursor.fetchLimit(size))
+                : courseRepository.findPageByStatusAfter(
+                        Course.CourseStatus.PUBLISHED, after.timestamp(), after.id(), PageCursor.fetchLimit(size));
+
+        return CursorPageResponse.of(courses, size,
+                course -> new PageCursor(course.getCreatedAt(), course.getId()),
+                this::mapToCourseListItem);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CourseDetail getCourseBySlug(String slug) {
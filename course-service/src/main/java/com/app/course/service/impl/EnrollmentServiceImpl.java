@@ -1,6 +1,8 @@
 package com.app.course.service.impl;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.exception.ResourceNotFoundException;
+import com.app.common.util.PageCursor;
 import com.app.course.dto.enrollment.CourseProgressDetail;
 import com.app.course.dto.enrollment.EnrollmentDetail;
 import com.app.course.dto.enrollment.EnrollmentRequest;
@@ -81,6 +83,22 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         return enrollments.map(this::mapToEnrollmentDetail);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EnrollmentDetail> getMyEnrollments(String accountId, String cursor, int size) {
+        log.debug("Fetching enrollments for user: {} after cursor: {}", accountId, cursor);
+
+        PageCursor after = PageCursor.decode(cursor);
+        List<Enrollment> enrollments = after == null
+                ? enrollmentRepository.findPageByAccountId(accountId, PageCursor.fetchLimit(size))
+                : enrollmentRepository.findPageByAccountIdAfter(
+                        accountId, after.timestamp(), after.id(), PageCursor.fetchLimit(size));
+
+        return CursorPageResponse.of(enrollments, size,
+                enrollment -> new PageCursor(enrollment.getEnrolledAt(), enrollment.getId()),
+                this::mapToEnrollmentDetail);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CourseProgressDetail getCourseProgress(String courseId, String accountId) {
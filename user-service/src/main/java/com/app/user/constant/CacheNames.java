@@ -0,0 +1,10 @@
+package com.app.user.constant;
+
+public final class CacheNames {
+
+    // UserResponse by accountId, the lookup other services make through Feign
+    public static final String USERS_BY_ACCOUNT = "users-by-account";
+
+    private CacheNames() {
+    }
+}
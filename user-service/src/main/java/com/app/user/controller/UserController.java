@@ -1,6 +1,7 @@
 package com.app.user.controller;
 
 import com.app.common.dto.response.ApiResponse;
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.dto.response.PageResponse;
 import com.app.common.util.CurrentAccount;
 import com.app.user.dto.CreateUserRequest;
@@ -122,6 +123,23 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(pageResponse));
     }
 
+    /**
+     * Get all users by cursor, newest first:
+     * empty {@code cursor} for the first page, then the returned {@code nextCursor}
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Fetching all users, cursor: {}, size: {}", cursor, size);
+
+        CursorPageResponse<UserResponse> response = userService.getAllUsers(cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Update user
      */
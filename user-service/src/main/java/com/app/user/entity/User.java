@@ -7,7 +7,10 @@ import lombok.*;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Keyset pagination of the admin user list, see UserRepository.findPage
+        @Index(name = "idx_users_created_at", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
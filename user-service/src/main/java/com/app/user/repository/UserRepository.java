@@ -1,9 +1,14 @@
 package com.app.user.repository;
 
 import com.app.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +16,19 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByAccountId(String accountId);
 
+    // Keyset pagination: first page, then the rows after a cursor, newest first
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(Pageable pageable);
+
+    @Query("SELECT u FROM User u " +
+            "WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -1,5 +1,6 @@
 package com.app.user.service;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.user.dto.CreateUserRequest;
 import com.app.user.dto.UpdateUserRequest;
 import com.app.user.dto.UserResponse;
@@ -24,6 +25,11 @@ public interface UserService {
 
     Page<UserResponse> getAllUsers(Pageable pageable);
 
+    /**
+     * Get users after a cursor, newest first
+     */
+    CursorPageResponse<UserResponse> getAllUsers(String cursor, int size);
+
     /**
      * Update user by userId, verify ownership with accountId
      */
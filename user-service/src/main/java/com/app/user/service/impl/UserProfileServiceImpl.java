@@ -1,6 +1,7 @@
 package com.app.user.service.impl;
 
 import com.app.common.exception.ResourceNotFoundException;
+import com.app.user.constant.CacheNames;
 import com.app.user.dto.UpdateUserProfileRequest;
 import com.app.user.dto.UserProfileResponse;
 import com.app.user.entity.User;
@@ -10,6 +11,7 @@ import com.app.user.repository.UserRepository;
 import com.app.user.service.UserProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,6 +52,7 @@ public class UserProfileServiceImpl implements UserProfileService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_ACCOUNT, key = "#accountId")
     public UserProfileResponse updateProfileByUserId(String userId, UpdateUserProfileRequest request, String accountId) {
         log.info("Updating profile for userId: {} by accountId: {}", userId, accountId);
 
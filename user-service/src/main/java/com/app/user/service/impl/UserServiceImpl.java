@@ -1,6 +1,9 @@
 package com.app.user.service.impl;
 
+import com.app.common.dto.response.CursorPageResponse;
 import com.app.common.exception.ResourceNotFoundException;
+import com.app.common.util.PageCursor;
+import com.app.user.constant.CacheNames;
 import com.app.user.constant.UserStatus;
 import com.app.user.dto.CreateUserRequest;
 import com.app.user.dto.UpdateUserRequest;
@@ -12,6 +15,8 @@ import com.app.user.repository.UserRepository;
 import com.app.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -19,6 +24,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -55,6 +62,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.USERS_BY_ACCOUNT, key = "#accountId")
     public UserResponse getUserByAccountId(String accountId) {
         log.debug("Fetching user by accountId: {}", accountId);
         User user = userRepository.findByAccountId(accountId)
@@ -88,8 +96,24 @@ public class UserServiceImpl implements UserService {
                 .map(this::mapToResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getAllUsers(String cursor, int size) {
+        log.debug("Fetching all users after cursor: {}", cursor);
+
+        PageCursor after = PageCursor.decode(cursor);
+        List<User> users = after == null
+                ? userRepository.findPage(PageCursor.fetchLimit(size))
+                : userRepository.findPageAfter(after.timestamp(), after.id(), PageCursor.fetchLimit(size));
+
+        return CursorPageResponse.of(users, size,
+                user -> new PageCursor(user.getCreatedAt(), user.getId()),
+                this::mapToResponse);
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_ACCOUNT, key = "#accountId")
     public UserResponse updateUser(String userId, UpdateUserRequest request, String accountId) {
         log.info("Updating userId: {} by accountId: {}", userId, accountId);
 
@@ -117,6 +141,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    // Only the user id is known here; deletes are rare admin operations
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_ACCOUNT, allEntries = true)
     public void deleteUser(String userId) {
         log.info("Deleting userId: {}", userId);
 